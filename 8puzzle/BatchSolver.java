@@ -0,0 +1,181 @@
+/* *****************************************************************************
+ *  Name: Mingxuan Wu
+ *  Date: 2026/10/18
+ *  Description: Solves every puzzle file of a directory on a fixed pool of
+ *               worker threads, in one JVM, with per-puzzle node and time
+ *               budgets. One line per puzzle is written as soon as it is
+ *               done (so in completion order):
+ *                 file  status  moves  nodes  millis  blank-moves
+ *               status is OK, UNSOLVABLE, BUDGET, OOM or ERROR; blank-moves
+ *               spells the solution as the blank's moves (U, D, L, R).
+ *               At most as many puzzles as workers are read ahead. A puzzle
+ *               that runs out of heap is reported as OOM and permanently
+ *               takes one worker slot away (down to one), so the remaining
+ *               searches get more memory instead of failing together.
+ **************************************************************************** */
+
+import edu.princeton.cs.algs4.In;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BatchSolver {
+    private final BoardHeuristic heuristic;
+    private final long maxExpansions;
+    private final long timeLimitMillis;
+    private final PrintStream out;
+    private final Semaphore slots; // one permit per search allowed to run
+    private final AtomicInteger liveSlots; // permits not yet retired after an OOM
+    private final AtomicInteger solved = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    // solves every file in puzzles with the given number of workers and budgets
+    public BatchSolver(File[] puzzles, int workers, BoardHeuristic heuristic,
+                       long maxExpansions, long timeLimitMillis, PrintStream out)
+            throws InterruptedException {
+        if (puzzles == null || workers <= 0 || heuristic == null || out == null) {
+            throw new IllegalArgumentException("need puzzles, workers, a heuristic and out");
+        }
+        if (maxExpansions <= 0 || timeLimitMillis <= 0) {
+            throw new IllegalArgumentException("budgets should be positive");
+        }
+        this.heuristic = heuristic;
+        this.maxExpansions = maxExpansions;
+        this.timeLimitMillis = timeLimitMillis;
+        this.out = out;
+        slots = new Semaphore(workers);
+        liveSlots = new AtomicInteger(workers);
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            for (File puzzle : puzzles) {
+                // the producer waits for a free slot, so boards are not read far ahead
+                slots.acquire();
+                pool.execute(() -> {
+                    // a slot retired after an OOM is kept instead of released; anything
+                    // solve() lets escape still gives the slot back, or the producer
+                    // would wait for it forever
+                    boolean retire = false;
+                    try {
+                        retire = solve(puzzle);
+                    }
+                    finally {
+                        if (!retire) slots.release();
+                    }
+                });
+            }
+        }
+        finally {
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // solves and reports one puzzle; true if its slot should be retired
+    private boolean solve(File puzzle) {
+        long start = System.nanoTime();
+        String status;
+        int moves = -1;
+        long nodes = 0;
+        String path = "-";
+        boolean retire = false;
+        try {
+            Board initial = read(puzzle);
+            // the closed set keeps solutions optimal only for consistent heuristics, which
+            // BoardHeuristic requires (Manhattan and PatternDatabase both are)
+            Solver solver = new Solver(initial, heuristic, true, maxExpansions,
+                                       timeLimitMillis);
+            nodes = solver.nodesExpanded();
+            if (!solver.isSolvable()) status = "UNSOLVABLE";
+            else if (solver.budgetExceeded()) status = "BUDGET";
+            else {
+                status = "OK";
+                moves = solver.moves();
+                path = blankMoves(solver.solution());
+            }
+        }
+        catch (OutOfMemoryError e) {
+            // the failed search is garbage now; run fewer searches at once from here on
+            status = "OOM";
+            retire = liveSlots.getAndUpdate(live -> live > 1 ? live - 1 : live) > 1;
+        }
+        catch (RuntimeException e) {
+            status = "ERROR";
+        }
+        if (status.equals("OK") || status.equals("UNSOLVABLE")) solved.incrementAndGet();
+        else failed.incrementAndGet();
+
+        long millis = (System.nanoTime() - start) / 1000000;
+        synchronized (out) {
+            out.printf("%s\t%s\t%d\t%d\t%d\t%s%n", puzzle.getName(), status, moves, nodes,
+                       millis, path);
+            out.flush();
+        }
+        return retire;
+    }
+
+    private static Board read(File puzzle) {
+        In in = new In(puzzle);
+        int n = in.readInt();
+        int[][] tiles = new int[n][n];
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < n; j++)
+                tiles[i][j] = in.readInt();
+        return new Board(tiles);
+    }
+
+    // the solution as the blank's moves: U, D, L, R
+    private static String blankMoves(Iterable<Board> solution) {
+        StringBuilder s = new StringBuilder();
+        Board prev = null;
+        for (Board board : solution) {
+            if (prev != null) {
+                int delta = board.blankIndex() - prev.blankIndex();
+                if (delta == 1) s.append('R');
+                else if (delta == -1) s.append('L');
+                else if (delta > 0) s.append('D');
+                else s.append('U');
+            }
+            prev = board;
+        }
+        return s.length() == 0 ? "-" : s.toString();
+    }
+
+    // puzzles solved (or shown unsolvable)
+    public int solved() {
+        return solved.get();
+    }
+
+    // puzzles that hit a budget, ran out of memory or could not be read
+    public int failed() {
+        return failed.get();
+    }
+
+    // usage: BatchSolver directory workers maxNodes maxMillis [patternDatabase]
+    public static void main(String[] args) throws IOException, InterruptedException {
+        File[] puzzles = new File(args[0]).listFiles(File::isFile);
+        if (puzzles == null) throw new IllegalArgumentException("not a directory: " + args[0]);
+        Arrays.sort(puzzles);
+        int workers = Integer.parseInt(args[1]);
+        long maxNodes = Long.parseLong(args[2]);
+        long maxMillis = Long.parseLong(args[3]);
+        BoardHeuristic heuristic = args.length > 4
+                                   ? new PatternDatabase(Paths.get(args[4]))
+                                   : BoardHeuristic.MANHATTAN;
+
+        long start = System.nanoTime();
+        BatchSolver batch = new BatchSolver(puzzles, workers, heuristic, maxNodes, maxMillis,
+                                            System.out);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.printf("solved=%d failed=%d in %.2f s (%.1f puzzles/s)%n", batch.solved(),
+                          batch.failed(), seconds, puzzles.length / seconds);
+    }
+}
@@ -0,0 +1,237 @@
+/* *****************************************************************************
+ *  Name: Mingxuan Wu
+ *  Date: 2026/10/18
+ *  Description: Bidirectional A* for the n-puzzle. One search runs from
+ *               the initial board towards the goal, the other from the goal
+ *               towards the initial board. Each node carries the Manhattan
+ *               distance to both ends and is ordered by
+ *                 d = 2g + h(to target) - h(to own root)
+ *               (the BAE* / DIBBS priority: f plus the amount by which g
+ *               exceeds the lower bound on it), which keeps both fronts
+ *               moving towards the middle. Boards reached by both sides
+ *               are found by hash lookup in the other side's table; with a
+ *               consistent heuristic no path shorter than the best meeting
+ *               found so far remains once that cost is at most half the
+ *               sum of the two smallest priorities, rounded up.
+ **************************************************************************** */
+
+import edu.princeton.cs.algs4.In;
+import edu.princeton.cs.algs4.MinPQ;
+import edu.princeton.cs.algs4.Queue;
+import edu.princeton.cs.algs4.Stack;
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.HashMap;
+
+public class BidirectionalSolver {
+    private final boolean isSolvableFinal;
+    private final int moves;
+    private final Queue<Board> solution;
+    private long expanded;
+
+    private final int n;
+
+    private static class SearchNode implements Comparable<SearchNode> {
+        private final Board board;
+        private final SearchNode prevNode;
+        private final int moves; // g: moves from this side's root
+        private final int estimate; // h: Manhattan distance to this side's target
+        private final int backEstimate; // Manhattan distance to this side's root
+        private final int priority; // 2g + h - backEstimate
+        private boolean closed;
+
+        public SearchNode(Board board, SearchNode prevNode, int moves, int estimate,
+                          int backEstimate) {
+            this.board = board;
+            this.prevNode = prevNode;
+            this.moves = moves;
+            this.estimate = estimate;
+            this.backEstimate = backEstimate;
+            this.priority = 2 * moves + estimate - backEstimate;
+        }
+
+        // ties go to the deeper node
+        public int compareTo(SearchNode that) {
+            if (this.priority != that.priority)
+                return Integer.compare(this.priority, that.priority);
+            return Integer.compare(that.moves, this.moves);
+        }
+    }
+
+    // One direction of the search: a priority queue (with stale entries skipped lazily)
+    // and the best node found so far for each board
+    private class Side {
+        private final MinPQ<SearchNode> pq = new MinPQ<>();
+        private final HashMap<Board, SearchNode> best = new HashMap<>();
+        private final int[] targetRow; // targetRow[tile] = row of tile in this side's target
+        private final int[] targetCol;
+        private final int[] rootRow; // rootRow[tile] = row of tile in this side's root
+        private final int[] rootCol;
+
+        public Side(Board root, Board target) {
+            targetRow = new int[n * n];
+            targetCol = new int[n * n];
+            rootRow = new int[n * n];
+            rootCol = new int[n * n];
+            for (int i = 0; i < n * n; i++) {
+                targetRow[target.tileAt(i)] = i / n;
+                targetCol[target.tileAt(i)] = i % n;
+                rootRow[root.tileAt(i)] = i / n;
+                rootCol[root.tileAt(i)] = i % n;
+            }
+            int h = 0;
+            for (int i = 0; i < n * n; i++) {
+                if (root.tileAt(i) != 0) h += distance(root.tileAt(i), i);
+            }
+            SearchNode node = new SearchNode(root, null, 0, h, 0);
+            best.put(root, node);
+            pq.insert(node);
+        }
+
+        private int distance(int tile, int index) {
+            return Math.abs(index / n - targetRow[tile]) + Math.abs(index % n - targetCol[tile]);
+        }
+
+        private int rootDistance(int tile, int index) {
+            return Math.abs(index / n - rootRow[tile]) + Math.abs(index % n - rootCol[tile]);
+        }
+
+        // drops closed and superseded entries from the top of the queue
+        public SearchNode peek() {
+            while (!pq.isEmpty()) {
+                SearchNode node = pq.min();
+                if (!node.closed && best.get(node.board) == node) return node;
+                pq.delMin();
+            }
+            return null;
+        }
+    }
+
+    // find a shortest solution to the initial board (using bidirectional A*)
+    public BidirectionalSolver(Board initial) {
+        if (initial == null)
+            throw new IllegalArgumentException("Cannot initiate from a null board.");
+        n = initial.dimension();
+
+        isSolvableFinal = initial.isSolvable();
+        if (!isSolvableFinal) {
+            moves = -1;
+            solution = null;
+            return;
+        }
+
+        int[][] goalTiles = new int[n][n];
+        for (int i = 0; i < n * n - 1; i++) goalTiles[i / n][i % n] = i + 1;
+        Board goal = new Board(goalTiles);
+
+        Side forward = new Side(initial, goal);
+        Side backward = new Side(goal, initial);
+        SearchNode meetForward = null;
+        SearchNode meetBackward = null;
+        int bestCost = Integer.MAX_VALUE;
+        if (initial.equals(goal)) {
+            meetForward = forward.peek();
+            meetBackward = backward.peek();
+            bestCost = 0;
+        }
+
+        // a solvable board always meets before either queue runs out
+        while (true) {
+            SearchNode nextForward = forward.peek();
+            SearchNode nextBackward = backward.peek();
+            if (nextForward == null || nextBackward == null) break;
+            // lower bound on any solution not found yet
+            int lowest = (nextForward.priority + nextBackward.priority + 1) / 2;
+            if (bestCost <= lowest) break;
+
+            // expand on the side with the smaller priority
+            boolean isForward = nextForward.priority <= nextBackward.priority;
+            Side side = isForward ? forward : backward;
+            Side other = isForward ? backward : forward;
+            SearchNode node = side.pq.delMin();
+            node.closed = true;
+            expanded++;
+
+            Board prev = node.prevNode == null ? null : node.prevNode.board;
+            int from = node.board.blankIndex();
+            for (Board neighbor : node.board.neighbors()) {
+                if (neighbor.equals(prev)) continue;
+                int g = node.moves + 1;
+                SearchNode known = side.best.get(neighbor);
+                if (known != null && known.moves <= g) continue;
+
+                // the tile now at the old blank position came from the new blank position
+                int tile = neighbor.tileAt(from);
+                int to = neighbor.blankIndex();
+                int h = node.estimate + side.distance(tile, from) - side.distance(tile, to);
+                int hRoot = node.backEstimate + side.rootDistance(tile, from)
+                        - side.rootDistance(tile, to);
+                SearchNode child = new SearchNode(neighbor, node, g, h, hRoot);
+                side.best.put(neighbor, child);
+                side.pq.insert(child);
+
+                SearchNode match = other.best.get(neighbor);
+                if (match != null && g + match.moves < bestCost) {
+                    bestCost = g + match.moves;
+                    meetForward = isForward ? child : match;
+                    meetBackward = isForward ? match : child;
+                }
+            }
+        }
+
+        // initial .. meeting board from the forward half, then the rest back to the goal
+        moves = bestCost;
+        Stack<Board> firstHalf = new Stack<Board>();
+        for (SearchNode node = meetForward; node != null; node = node.prevNode)
+            firstHalf.push(node.board);
+        solution = new Queue<Board>();
+        for (Board board : firstHalf)
+            solution.enqueue(board);
+        for (SearchNode node = meetBackward.prevNode; node != null; node = node.prevNode)
+            solution.enqueue(node.board);
+    }
+
+    // number of nodes expanded, over both directions
+    public long nodesExpanded() {
+        return expanded;
+    }
+
+    // is the initial board solvable?
+    public boolean isSolvable() {
+        return isSolvableFinal;
+    }
+
+    // min number of moves to solve initial board; -1 if unsolvable
+    public int moves() {
+        return moves;
+    }
+
+    // sequence of boards in a shortest solution; null if unsolvable
+    public Iterable<Board> solution() {
+        return solution;
+    }
+
+    public static void main(String[] args) {
+        // create initial board from file
+        In in = new In(args[0]);
+        int n = in.readInt();
+        int[][] tiles = new int[n][n];
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < n; j++)
+                tiles[i][j] = in.readInt();
+        Board initial = new Board(tiles);
+
+        // solve the puzzle
+        BidirectionalSolver solver = new BidirectionalSolver(initial);
+
+        // print solution to standard output
+        if (!solver.isSolvable())
+            StdOut.println("No solution possible");
+        else {
+            StdOut.println("Minimum number of moves = " + solver.moves());
+            for (Board board : solver.solution())
+                StdOut.println(board);
+        }
+        StdOut.println("Nodes expanded = " + solver.nodesExpanded());
+    }
+}
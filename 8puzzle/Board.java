@@ -1,26 +1,87 @@
 /* *****************************************************************************
  *  Name: Mingxuan Wu
- *  Date: 2020/08/03
- *  Description: Board class
+ *  Date: 2026/10/18
+ *  Description: Board class. Boards up to 4-by-4 are packed one tile per
+ *               nibble into a long (tile at index row * n + col in bits
+ *               4 * index .. 4 * index + 3); larger boards keep one char per
+ *               tile. The blank position, Hamming and Manhattan distances
+ *               are carried by every board: a full scan for boards built
+ *               from tiles, an O(1) update for neighbors (only the tile
+ *               slid into the blank changes its distance).
+ *               key() is a 64-bit board hash for closed sets: the packed
+ *               long itself for small boards (exact), a Zobrist hash kept
+ *               up to date the same way for larger ones.
  **************************************************************************** */
 
 import java.util.ArrayList;
 import java.util.Arrays;
 
 public class Board {
-    private final int[][] tiles;
+    private static final int PACK_LIMIT = 4; // 16 nibbles in a long
     private final int n;
+    private final long packed; // nibble-packed tiles if n <= PACK_LIMIT
+    private final char[] cells; // row-major tiles if n > PACK_LIMIT, null otherwise
+    private final int blank; // row-major index of the blank
+    private final int manhattan;
+    private final int hamming;
+    private final long zobrist; // Zobrist hash if n > PACK_LIMIT, 0 otherwise
 
     // create a board from an n-by-n array of tiles,
     // where tiles[row][col] = tile at (row, col)
     public Board(int[][] tiles) {
-        this.tiles = new int[tiles.length][tiles.length];
         this.n = tiles.length;
+        long packedTiles = 0;
+        char[] cellTiles = n > PACK_LIMIT ? new char[n * n] : null;
+        int blankIndex = 0;
         for (int i = 0; i < n; i++) {
             for (int j = 0; j < n; j++) {
-                this.tiles[i][j] = tiles[i][j];
+                int index = i * n + j;
+                if (tiles[i][j] == 0) blankIndex = index;
+                if (cellTiles == null) packedTiles |= (long) tiles[i][j] << (4 * index);
+                else cellTiles[index] = (char) tiles[i][j];
             }
         }
+        this.packed = packedTiles;
+        this.cells = cellTiles;
+        this.blank = blankIndex;
+        this.manhattan = computeManhattan();
+        this.hamming = computeHamming();
+        this.zobrist = computeZobrist();
+    }
+
+    // board built from an existing encoding and its distances
+    private Board(int n, long packed, char[] cells, int blank, int manhattan, int hamming,
+                  long zobrist) {
+        this.n = n;
+        this.packed = packed;
+        this.cells = cells;
+        this.blank = blank;
+        this.manhattan = manhattan;
+        this.hamming = hamming;
+        this.zobrist = zobrist;
+    }
+
+    // rebuild a board of dimension n <= 4 from its key() and its stored blank and
+    // distances, without rescanning the tiles
+    Board(int n, long packed, int blank, int manhattan, int hamming) {
+        this(n, packed, null, blank, manhattan, hamming, 0);
+        if (n > PACK_LIMIT) throw new IllegalArgumentException("only boards up to 4-by-4 pack");
+    }
+
+    // can boards of dimension n be rebuilt from their key()?
+    static boolean packs(int n) {
+        return n <= PACK_LIMIT;
+    }
+
+    // tile at row-major index
+    int tileAt(int index) {
+        if (cells == null) return (int) (packed >>> (4 * index)) & 0xF;
+        return cells[index];
+    }
+
+    // row-major index of the blank
+    int blankIndex() {
+        return blank;
     }
 
     // string representation of this board
@@ -29,7 +90,7 @@ public class Board {
         s.append(n + "\n");
         for (int i = 0; i < n; i++) {
             for (int j = 0; j < n; j++) {
-                s.append(String.format("%2d ", tiles[i][j]));
+                s.append(String.format("%2d ", tileAt(i * n + j)));
             }
             s.append("\n");
         }
@@ -43,40 +104,68 @@ public class Board {
 
     // number of tiles out of place
     public int hamming() {
-        int hamming = 0;
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                if (tiles[i][j] != i * n + j + 1) hamming++;
-            }
-        }
-        // note that tiles[n-1][n-1] will always be wrong, but should not be included
-        hamming--;
         return hamming;
     }
 
     // sum of Manhattan distances between tiles and goal
     public int manhattan() {
-        int manhattan = 0;
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                if (tiles[i][j] == 0) continue;
-                int correctRow = (tiles[i][j] - 1) / n;
-                int correctCol = (tiles[i][j] - 1) % n;
-                manhattan += Math.abs(correctRow - i) + Math.abs(correctCol - j);
-            }
-        }
         return manhattan;
     }
 
+    // Zobrist value of a (non-blank) tile at row-major index; computed by a hash
+    // mix instead of read from a random table, so no table has to be kept per n
+    private long zobristOf(int tile, int index) {
+        long z = (long) index * n * n + tile + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private long computeZobrist() {
+        if (cells == null) return 0;
+        long z = 0;
+        for (int index = 0; index < n * n; index++) {
+            if (cells[index] != 0) z ^= zobristOf(cells[index], index);
+        }
+        return z;
+    }
+
+    // 64-bit key of this board: equal boards (of one dimension) have equal keys, and
+    // for n <= 4 different boards always have different keys
+    long key() {
+        return cells == null ? packed : zobrist;
+    }
+
+    // Manhattan distance of a (non-blank) tile at row-major index from its goal
+    private int distance(int tile, int index) {
+        int correctRow = (tile - 1) / n;
+        int correctCol = (tile - 1) % n;
+        return Math.abs(correctRow - index / n) + Math.abs(correctCol - index % n);
+    }
+
+    // Manhattan distance by scanning every tile (used for boards built from scratch)
+    private int computeManhattan() {
+        int sum = 0;
+        for (int index = 0; index < n * n; index++) {
+            int tile = tileAt(index);
+            if (tile != 0) sum += distance(tile, index);
+        }
+        return sum;
+    }
+
+    // Hamming distance by scanning every tile (used for boards built from scratch)
+    private int computeHamming() {
+        int sum = 0;
+        for (int index = 0; index < n * n; index++) {
+            int tile = tileAt(index);
+            if (tile != 0 && tile != index + 1) sum++;
+        }
+        return sum;
+    }
+
     // is this board the goal board?
     public boolean isGoal() {
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                if (i == n - 1 && j == n - 1) continue;
-                if (i * n + j + 1 != tiles[i][j]) return false;
-            }
-        }
-        return true;
+        return manhattan == 0;
     }
 
     // does this board equal y?
@@ -85,14 +174,11 @@ public class Board {
         if (y == null) return false;
         if (y.getClass() != this.getClass()) return false;
         Board that = (Board) y;
-        return Arrays.deepEquals(tiles, that.tiles);
+        return n == that.n && packed == that.packed && Arrays.equals(cells, that.cells);
     }
 
-    // exchange (i1, j1) with (i2, j2)
-    private void exchange(int i1, int j1, int i2, int j2) {
-        int temp = tiles[i1][j1];
-        tiles[i1][j1] = tiles[i2][j2];
-        tiles[i2][j2] = temp;
+    public int hashCode() {
+        return Long.hashCode(key());
     }
 
     // is (i,j) in the tile?
@@ -100,60 +186,79 @@ public class Board {
         return i >= 0 && i < n && j >= 0 && j < n;
     }
 
-    private int[] findZero() {
-        int[] zeroPos = new int[2];
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                if (tiles[i][j] == 0) {
-                    zeroPos[0] = i;
-                    zeroPos[1] = j;
-                    return zeroPos;
-                }
-            }
+    // board with the tile at index moved into the blank
+    // packed boards are rewritten arithmetically; char boards are copied, then the
+    // copy is changed (never this board's cells, which other threads may be reading)
+    private Board slide(int index) {
+        int tile = tileAt(index);
+        int movedManhattan = manhattan - distance(tile, index) + distance(tile, blank);
+        int movedHamming = hamming - (tile != index + 1 ? 1 : 0) + (tile != blank + 1 ? 1 : 0);
+        if (cells == null) {
+            long moved = (packed & ~(0xFL << (4 * index))) | ((long) tile << (4 * blank));
+            return new Board(n, moved, null, index, movedManhattan, movedHamming, 0);
         }
-        return zeroPos;
+        long movedZobrist = zobrist ^ zobristOf(tile, index) ^ zobristOf(tile, blank);
+        char[] moved = cells.clone();
+        moved[blank] = (char) tile;
+        moved[index] = 0;
+        return new Board(n, 0, moved, index, movedManhattan, movedHamming, movedZobrist);
     }
 
     // all neighboring boards
     public Iterable<Board> neighbors() {
-        int[][] directions = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
-        ArrayList<Board> neighbors = new ArrayList<>();
-        // find (row, col) for 0
-        int[] zeroPos = findZero();
-        for (int[] direction : directions) {
-            int newRow = zeroPos[0] + direction[0];
-            int newCol = zeroPos[1] + direction[1];
-            if (isValid(newRow, newCol)) {
-                Board tempBoard = new Board(tiles);
-                tempBoard.exchange(zeroPos[0], zeroPos[1], newRow, newCol);
-                neighbors.add(tempBoard);
-            }
-        }
+        ArrayList<Board> neighbors = new ArrayList<>(4);
+        int row = blank / n;
+        int col = blank % n;
+        if (isValid(row - 1, col)) neighbors.add(slide(blank - n));
+        if (isValid(row + 1, col)) neighbors.add(slide(blank + n));
+        if (isValid(row, col - 1)) neighbors.add(slide(blank - 1));
+        if (isValid(row, col + 1)) neighbors.add(slide(blank + 1));
         return neighbors;
     }
 
-    private int[] findTwoTiles() {
-        int[] twoPairs = new int[4];
-        int count = 0;
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                if (tiles[i][j] != 0) {
-                    twoPairs[count * 2] = i;
-                    twoPairs[count * 2 + 1] = j;
-                    count++;
-                }
-                if (count == 2) return twoPairs;
-            }
+    // can the goal be reached from this board?
+    // for odd n the number of inversions (pairs of tiles in the wrong order, ignoring the
+    // blank) must be even; for even n the inversions plus the blank's row must be odd
+    // inversions are counted with a Fenwick tree over tile values, O(n^2 log n)
+    public boolean isSolvable() {
+        int cells = n * n;
+        int[] tree = new int[cells]; // Fenwick tree over tiles 1 .. cells - 1
+        long inversions = 0;
+        for (int index = 0; index < cells; index++) {
+            int tile = tileAt(index);
+            if (tile == 0) continue;
+            // tiles seen so far that are larger than this one
+            int smallerOrEqual = 0;
+            for (int i = tile; i > 0; i -= i & -i) smallerOrEqual += tree[i];
+            inversions += index - (index > blank ? 1 : 0) - smallerOrEqual;
+            for (int i = tile; i < cells; i += i & -i) tree[i]++;
         }
-        return twoPairs;
+        if (n % 2 == 1) return inversions % 2 == 0;
+        return (inversions + blank / n) % 2 == 1;
     }
 
     // a board that is obtained by exchanging any pair of tiles
     public Board twin() {
-        int[] twoPairs = findTwoTiles();
-        Board twin = new Board(tiles);
-        twin.exchange(twoPairs[0], twoPairs[1], twoPairs[2], twoPairs[3]);
-        return twin;
+        // the first two non-blank tiles in row-major order
+        int first = blank == 0 ? 1 : 0;
+        int second = first + 1 == blank ? first + 2 : first + 1;
+        int a = tileAt(first);
+        int b = tileAt(second);
+        int twinManhattan = manhattan - distance(a, first) - distance(b, second)
+                + distance(b, first) + distance(a, second);
+        int twinHamming = hamming - (a != first + 1 ? 1 : 0) - (b != second + 1 ? 1 : 0)
+                + (b != first + 1 ? 1 : 0) + (a != second + 1 ? 1 : 0);
+        if (cells == null) {
+            long swapped = packed & ~(0xFL << (4 * first)) & ~(0xFL << (4 * second));
+            swapped |= ((long) b << (4 * first)) | ((long) a << (4 * second));
+            return new Board(n, swapped, null, blank, twinManhattan, twinHamming, 0);
+        }
+        long twinZobrist = zobrist ^ zobristOf(a, first) ^ zobristOf(b, second)
+                ^ zobristOf(b, first) ^ zobristOf(a, second);
+        char[] swapped = cells.clone();
+        swapped[first] = (char) b;
+        swapped[second] = (char) a;
+        return new Board(n, 0, swapped, blank, twinManhattan, twinHamming, twinZobrist);
     }
 
     public static void main(String[] args) {
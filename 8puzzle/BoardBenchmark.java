@@ -0,0 +1,113 @@
+/* *****************************************************************************
+ *  Name: Mingxuan Wu
+ *  Date: 2026/10/18
+ *  Description: Timing client for A* node expansion on 4-by-4 and 5-by-5
+ *               boards: every neighbor built from scratch by copying the
+ *               tiles and rescanning its distances (the old cost) vs slid
+ *               from its parent with distances carried incrementally.
+ *               Nodes are ordered as Solver orders them: by f = moves +
+ *               Manhattan, ties to the smaller Manhattan distance.
+ **************************************************************************** */
+
+import edu.princeton.cs.algs4.MinPQ;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+public class BoardBenchmark {
+    private static final int EXPANSIONS = 300000;
+    private static final int SCRAMBLE_MOVES = 200;
+
+    private static class Node implements Comparable<Node> {
+        private final Board board;
+        private final int moves;
+        private final int estimate;
+        private final int priority;
+
+        Node(Board board, int moves, int estimate) {
+            this.board = board;
+            this.moves = moves;
+            this.estimate = estimate;
+            this.priority = moves + estimate;
+        }
+
+        public int compareTo(Node that) {
+            int byPriority = Integer.compare(this.priority, that.priority);
+            return byPriority != 0 ? byPriority : Integer.compare(this.estimate, that.estimate);
+        }
+    }
+
+    // goal board scrambled by a random walk of the blank
+    private static Board scrambled(int n, long seed) {
+        int[][] tiles = new int[n][n];
+        for (int i = 0; i < n * n; i++) tiles[i / n][i % n] = (i + 1) % (n * n);
+        Board board = new Board(tiles);
+        Random random = new Random(seed);
+        for (int i = 0; i < SCRAMBLE_MOVES; i++) {
+            ArrayList<Board> neighbors = new ArrayList<>();
+            for (Board neighbor : board.neighbors()) neighbors.add(neighbor);
+            board = neighbors.get(random.nextInt(neighbors.size()));
+        }
+        return board;
+    }
+
+    // neighbors the old way: copy the tiles into a fresh array, swap the blank, and
+    // construct each board from scratch (a full scan for its distances)
+    private static ArrayList<Board> rebuiltNeighbors(Board board) {
+        ArrayList<Board> neighbors = new ArrayList<>(4);
+        int n = board.dimension();
+        int blank = board.blankIndex();
+        int row = blank / n;
+        int col = blank % n;
+        int[] moved = { row > 0 ? blank - n : -1, row < n - 1 ? blank + n : -1,
+                        col > 0 ? blank - 1 : -1, col < n - 1 ? blank + 1 : -1 };
+        for (int index : moved) {
+            if (index < 0) continue;
+            int[][] tiles = new int[n][n];
+            for (int i = 0; i < n * n; i++) tiles[i / n][i % n] = board.tileAt(i);
+            tiles[row][col] = tiles[index / n][index % n];
+            tiles[index / n][index % n] = 0;
+            neighbors.add(new Board(tiles));
+        }
+        return neighbors;
+    }
+
+    // nodes expanded per second by a plain A* loop (stops early if the queue runs out)
+    private static double expansionRate(Board initial, int expansions, boolean rebuild) {
+        MinPQ<Node> pq = new MinPQ<>();
+        pq.insert(new Node(initial, 0, initial.manhattan()));
+        int checksum = 0; // keep the JIT from dropping the heuristic calls
+        int expanded = 0;
+        long start = System.nanoTime();
+        for (; expanded < expansions && !pq.isEmpty(); expanded++) {
+            Node node = pq.delMin();
+            Iterable<Board> neighbors = rebuild ? rebuiltNeighbors(node.board)
+                                                : node.board.neighbors();
+            for (Board neighbor : neighbors) {
+                int estimate = neighbor.manhattan();
+                checksum += estimate;
+                pq.insert(new Node(neighbor, node.moves + 1, estimate));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (checksum == 42) System.out.println(checksum);
+        return expanded / seconds;
+    }
+
+    // usage: BoardBenchmark [expansions]
+    public static void main(String[] args) {
+        int expansions = args.length > 0 ? Integer.parseInt(args[0]) : EXPANSIONS;
+        expansionRate(scrambled(4, 0), expansions, true);
+        expansionRate(scrambled(4, 0), expansions, false);
+
+        System.out.printf("%4s %20s %20s %10s%n", "n", "rebuild(nodes/s)",
+                          "incremental(nodes/s)", "speed-up");
+        for (int n = 4; n <= 5; n++) {
+            Board initial = scrambled(n, n);
+            double rebuild = expansionRate(initial, expansions, true);
+            double incremental = expansionRate(initial, expansions, false);
+            System.out.printf("%4d %20.0f %20.0f %9.2fx%n", n, rebuild, incremental,
+                              incremental / rebuild);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+/* *****************************************************************************
+ *  Name: Mingxuan Wu
+ *  Date: 2026/10/18
+ *  Description: Lower bound on the number of moves from a board to the goal,
+ *               used by Solver as the h in f = g + h. Must never overestimate
+ *               (and must be consistent if Solver runs with a closed set).
+ **************************************************************************** */
+
+public interface BoardHeuristic {
+    // Manhattan distance, as carried by Board
+    BoardHeuristic MANHATTAN = new BoardHeuristic() {
+        public int estimate(Board board) {
+            return board.manhattan();
+        }
+    };
+
+    // lower bound on the moves needed to solve board
+    int estimate(Board board);
+}
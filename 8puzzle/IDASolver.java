@@ -0,0 +1,243 @@
+/* *****************************************************************************
+ *  Name: Mingxuan Wu
+ *  Date: 2026/10/18
+ *  Description: Iterative-deepening A* (IDA*) for the n-puzzle. Depth-first
+ *               searches with a growing f = g + h bound on one mutable tile
+ *               array, so memory is linear in the solution length instead
+ *               of the exponential MinPQ frontier of Solver. The heuristic
+ *               is Manhattan distance plus linear conflicts, both updated
+ *               incrementally as the blank moves.
+ **************************************************************************** */
+
+import edu.princeton.cs.algs4.In;
+import edu.princeton.cs.algs4.Stack;
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.Arrays;
+
+public class IDASolver {
+    private static final int FOUND = -1;
+    private final boolean isSolvableFinal;
+    private final int moves;
+    private final Stack<Board> solution;
+    private long expanded;
+
+    private final int n;
+    private final int[] tiles; // row-major, mutated by the search and restored on backtrack
+    private int blank;
+    private int manhattan;
+    private final int[] rowConflicts; // linear conflicts in each row
+    private final int[] colConflicts; // linear conflicts in each column
+    private int conflicts; // sum of rowConflicts and colConflicts
+    private int[] path; // path[g] = blank position after move g
+    private int depthFound; // length of the path found
+    private final int[] lineBuffer; // scratch for linear conflict computation
+    private final int[] lisBuffer; // scratch for linear conflict computation
+
+    // find a solution to the initial board (using IDA*)
+    public IDASolver(Board initial) {
+        if (initial == null)
+            throw new IllegalArgumentException("Cannot initiate from a null board.");
+        n = initial.dimension();
+        tiles = new int[n * n];
+        for (int i = 0; i < n * n; i++) {
+            tiles[i] = initial.tileAt(i);
+            if (tiles[i] == 0) blank = i;
+        }
+        manhattan = initial.manhattan();
+        rowConflicts = new int[n];
+        colConflicts = new int[n];
+        lineBuffer = new int[n];
+        lisBuffer = new int[n];
+        for (int line = 0; line < n; line++) {
+            rowConflicts[line] = lineConflicts(line, true);
+            colConflicts[line] = lineConflicts(line, false);
+            conflicts += rowConflicts[line] + colConflicts[line];
+        }
+
+        isSolvableFinal = initial.isSolvable();
+        if (!isSolvableFinal) {
+            moves = -1;
+            solution = null;
+            return;
+        }
+
+        path = new int[16];
+        int bound = heuristic();
+        while (true) {
+            int result = search(0, bound, -1);
+            if (result == FOUND) break;
+            bound = result;
+        }
+        moves = depthFound;
+        solution = replay(initial);
+    }
+
+    // h = Manhattan distance + 2 * linear conflicts
+    private int heuristic() {
+        return manhattan + 2 * conflicts;
+    }
+
+    // the minimum number of tiles that must leave a row (or column) so the tiles
+    // that belong to it are in goal order; each such tile costs two extra moves
+    // = number of tiles in their goal line - longest increasing subsequence of their goals
+    private int lineConflicts(int line, boolean isRow) {
+        int count = 0;
+        for (int k = 0; k < n; k++) {
+            int index = isRow ? line * n + k : k * n + line;
+            int tile = tiles[index];
+            if (tile == 0) continue;
+            int goalLine = isRow ? (tile - 1) / n : (tile - 1) % n;
+            if (goalLine == line) lineBuffer[count++] = isRow ? (tile - 1) % n : (tile - 1) / n;
+        }
+        if (count < 2) return 0;
+        int longest = 0;
+        for (int i = 0; i < count; i++) {
+            lisBuffer[i] = 1;
+            for (int j = 0; j < i; j++) {
+                if (lineBuffer[j] < lineBuffer[i] && lisBuffer[j] + 1 > lisBuffer[i]) {
+                    lisBuffer[i] = lisBuffer[j] + 1;
+                }
+            }
+            longest = Math.max(longest, lisBuffer[i]);
+        }
+        return count - longest;
+    }
+
+    private void refreshRow(int row) {
+        conflicts -= rowConflicts[row];
+        rowConflicts[row] = lineConflicts(row, true);
+        conflicts += rowConflicts[row];
+    }
+
+    private void refreshCol(int col) {
+        conflicts -= colConflicts[col];
+        colConflicts[col] = lineConflicts(col, false);
+        conflicts += colConflicts[col];
+    }
+
+    // slide the tile at index into the blank; only the lines the tile leaves, enters
+    // or moves along can change their conflicts
+    private void move(int index) {
+        int tile = tiles[index];
+        int goalRow = (tile - 1) / n;
+        int goalCol = (tile - 1) % n;
+        manhattan += Math.abs(goalRow - blank / n) + Math.abs(goalCol - blank % n)
+                - Math.abs(goalRow - index / n) - Math.abs(goalCol - index % n);
+        tiles[blank] = tile;
+        tiles[index] = 0;
+        int from = index;
+        int to = blank;
+        blank = index;
+        if (from / n != to / n) {
+            refreshRow(from / n);
+            refreshRow(to / n);
+            refreshCol(from % n);
+        }
+        else {
+            refreshCol(from % n);
+            refreshCol(to % n);
+            refreshRow(from / n);
+        }
+    }
+
+    // depth-first search below the bound; returns FOUND, or the smallest f over the bound
+    private int search(int g, int bound, int previous) {
+        int f = g + heuristic();
+        if (f > bound) return f;
+        if (manhattan == 0) {
+            depthFound = g;
+            return FOUND;
+        }
+        expanded++;
+        if (g == path.length) path = Arrays.copyOf(path, 2 * path.length);
+
+        int min = Integer.MAX_VALUE;
+        int row = blank / n;
+        int col = blank % n;
+        int from = blank;
+        for (int direction = 0; direction < 4; direction++) {
+            int next;
+            if (direction == 0 && row > 0) next = from - n;
+            else if (direction == 1 && row < n - 1) next = from + n;
+            else if (direction == 2 && col > 0) next = from - 1;
+            else if (direction == 3 && col < n - 1) next = from + 1;
+            else continue;
+            if (next == previous) continue; // do not undo the last move
+            move(next);
+            path[g] = next;
+            int result = search(g + 1, bound, from);
+            if (result == FOUND) return FOUND;
+            move(from);
+            if (result < min) min = result;
+        }
+        return min;
+    }
+
+    // boards along the path found, starting from the initial board
+    private Stack<Board> replay(Board initial) {
+        int[] current = new int[n * n];
+        int blankIndex = 0;
+        for (int i = 0; i < n * n; i++) {
+            current[i] = initial.tileAt(i);
+            if (current[i] == 0) blankIndex = i;
+        }
+        Board[] boards = new Board[moves + 1];
+        boards[0] = initial;
+        for (int g = 0; g < moves; g++) {
+            current[blankIndex] = current[path[g]];
+            current[path[g]] = 0;
+            blankIndex = path[g];
+            int[][] grid = new int[n][n];
+            for (int i = 0; i < n * n; i++) grid[i / n][i % n] = current[i];
+            boards[g + 1] = new Board(grid);
+        }
+        Stack<Board> stack = new Stack<Board>();
+        for (int g = moves; g >= 0; g--) stack.push(boards[g]);
+        return stack;
+    }
+
+    // is the initial board solvable?
+    public boolean isSolvable() {
+        return isSolvableFinal;
+    }
+
+    // min number of moves to solve initial board; -1 if unsolvable
+    public int moves() {
+        return moves;
+    }
+
+    // sequence of boards in a shortest solution; null if unsolvable
+    public Iterable<Board> solution() {
+        return solution;
+    }
+
+    // number of nodes expanded over all iterations
+    public long nodesExpanded() {
+        return expanded;
+    }
+
+    public static void main(String[] args) {
+        // create initial board from file
+        In in = new In(args[0]);
+        int n = in.readInt();
+        int[][] tiles = new int[n][n];
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < n; j++)
+                tiles[i][j] = in.readInt();
+        Board initial = new Board(tiles);
+
+        // solve the puzzle
+        IDASolver solver = new IDASolver(initial);
+
+        // print solution to standard output
+        if (!solver.isSolvable())
+            StdOut.println("No solution possible");
+        else {
+            StdOut.println("Minimum number of moves = " + solver.moves());
+            for (Board board : solver.solution())
+                StdOut.println(board);
+        }
+        StdOut.println("Nodes expanded = " + solver.nodesExpanded());
+    }
+}
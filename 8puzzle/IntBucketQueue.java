@@ -0,0 +1,82 @@
+/* *****************************************************************************
+ *  Name: Mingxuan Wu
+ *  Date: 2026/10/18
+ *  Description: Min priority queue of int values under small non-negative
+ *               int keys: one growable int stack per key, and a cursor at
+ *               the smallest key that may be non-empty. Insert is O(1) and
+ *               delMin is amortized O(1) when keys mostly grow, as A*
+ *               f-costs do. Values with equal keys come out last in,
+ *               first out. No boxing and no Comparable.
+ **************************************************************************** */
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class IntBucketQueue {
+    private static final int INITIAL_KEYS = 64;
+    private static final int INITIAL_BUCKET = 4;
+    private int[][] buckets; // buckets[key] = stack of values, null until first used
+    private int[] counts; // counts[key] = values in buckets[key]
+    private int min; // every bucket below min is empty
+    private int size;
+
+    // construct an empty queue
+    public IntBucketQueue() {
+        buckets = new int[INITIAL_KEYS][];
+        counts = new int[INITIAL_KEYS];
+        min = 0;
+        size = 0;
+    }
+
+    // number of values in the queue
+    public int size() {
+        return size;
+    }
+
+    // is the queue empty?
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // add value under key
+    public void insert(int value, int key) {
+        if (key < 0) throw new IllegalArgumentException("negative key " + key);
+        if (key >= buckets.length) {
+            int capacity = Math.max(2 * buckets.length, key + 1);
+            buckets = Arrays.copyOf(buckets, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        int[] bucket = buckets[key];
+        if (bucket == null) bucket = buckets[key] = new int[INITIAL_BUCKET];
+        else if (counts[key] == bucket.length)
+            bucket = buckets[key] = Arrays.copyOf(bucket, 2 * bucket.length);
+        bucket[counts[key]++] = value;
+        if (key < min) min = key;
+        size++;
+    }
+
+    // smallest key in the queue
+    public int minKey() {
+        if (size == 0) throw new NoSuchElementException("Priority queue underflow");
+        while (counts[min] == 0) min++;
+        return min;
+    }
+
+    // remove and return a value with the smallest key
+    public int delMin() {
+        int key = minKey();
+        size--;
+        return buckets[key][--counts[key]];
+    }
+
+    public static void main(String[] args) {
+        IntBucketQueue pq = new IntBucketQueue();
+        int[] keys = { 5, 3, 9, 3, 0, 200, 5 };
+        for (int i = 0; i < keys.length; i++) pq.insert(i, keys[i]);
+        StringBuilder s = new StringBuilder();
+        while (!pq.isEmpty()) {
+            s.append(pq.minKey()).append(':').append(pq.delMin()).append(' ');
+        }
+        System.out.println(s);
+    }
+}
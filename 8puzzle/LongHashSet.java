@@ -0,0 +1,85 @@
+/* *****************************************************************************
+ *  Name: Mingxuan Wu
+ *  Date: 2026/10/18
+ *  Description: Set of primitive longs, open addressing with linear probing.
+ *               No boxing and no per-entry objects, 8 bytes per slot.
+ **************************************************************************** */
+
+public class LongHashSet {
+    private static final int INITIAL_CAPACITY = 16; // must be a power of two
+    private long[] keys;
+    private boolean[] used; // is keys[i] occupied?
+    private int size;
+
+    // construct an empty set
+    public LongHashSet() {
+        keys = new long[INITIAL_CAPACITY];
+        used = new boolean[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    // number of keys in the set
+    public int size() {
+        return size;
+    }
+
+    // is the set empty?
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // spread the bits of key, packed boards differ only in a few nibbles
+    private static int hash(long key) {
+        key = (key ^ (key >>> 33)) * 0xFF51AFD7ED558CCDL;
+        key = (key ^ (key >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return (int) (key ^ (key >>> 33));
+    }
+
+    // slot holding key, or the empty slot where it would go
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (used[i] && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    // does the set contain key?
+    public boolean contains(long key) {
+        return used[slot(key)];
+    }
+
+    // add key to the set; returns false if it was already there
+    public boolean add(long key) {
+        int i = slot(key);
+        if (used[i]) return false;
+        used[i] = true;
+        keys[i] = key;
+        size++;
+        // keep the load factor at most 1/2
+        if (2 * size > keys.length) resize(2 * keys.length);
+        return true;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        keys = new long[capacity];
+        used = new boolean[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int j = slot(oldKeys[i]);
+                used[j] = true;
+                keys[j] = oldKeys[i];
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        LongHashSet set = new LongHashSet();
+        for (long i = 0; i < 1000; i++) set.add(i * i);
+        System.out.printf("size=%d contains 144? %b contains 145? %b add 0 again? %b%n",
+                          set.size(), set.contains(144), set.contains(145), set.add(0));
+    }
+}
@@ -0,0 +1,98 @@
+/* *****************************************************************************
+ *  Name: Mingxuan Wu
+ *  Date: 2026/10/18
+ *  Description: Map from primitive longs to primitive ints, open addressing
+ *               with linear probing, laid out like LongHashSet. No boxing
+ *               and no per-entry objects, 13 bytes per slot.
+ **************************************************************************** */
+
+public class LongIntHashMap {
+    private static final int INITIAL_CAPACITY = 16; // must be a power of two
+    private long[] keys;
+    private int[] values;
+    private boolean[] used; // is keys[i] occupied?
+    private int size;
+
+    // construct an empty map
+    public LongIntHashMap() {
+        keys = new long[INITIAL_CAPACITY];
+        values = new int[INITIAL_CAPACITY];
+        used = new boolean[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    // number of keys in the map
+    public int size() {
+        return size;
+    }
+
+    // is the map empty?
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // spread the bits of key, packed boards differ only in a few nibbles
+    private static int hash(long key) {
+        key = (key ^ (key >>> 33)) * 0xFF51AFD7ED558CCDL;
+        key = (key ^ (key >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return (int) (key ^ (key >>> 33));
+    }
+
+    // slot holding key, or the empty slot where it would go
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (used[i] && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    // does the map contain key?
+    public boolean contains(long key) {
+        return used[slot(key)];
+    }
+
+    // value of key, or missing if key is not in the map
+    public int get(long key, int missing) {
+        int i = slot(key);
+        return used[i] ? values[i] : missing;
+    }
+
+    // map key to value, replacing any earlier value
+    public void put(long key, int value) {
+        int i = slot(key);
+        values[i] = value;
+        if (used[i]) return;
+        used[i] = true;
+        keys[i] = key;
+        size++;
+        // keep the load factor at most 1/2
+        if (2 * size > keys.length) resize(2 * keys.length);
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int j = slot(oldKeys[i]);
+                used[j] = true;
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        LongIntHashMap map = new LongIntHashMap();
+        for (int i = 0; i < 1000; i++) map.put((long) i * i, i);
+        map.put(144, -12);
+        System.out.printf("size=%d 144 -> %d 145 -> %d contains 0? %b%n",
+                          map.size(), map.get(144, 0), map.get(145, 0), map.contains(0));
+    }
+}
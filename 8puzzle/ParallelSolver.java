@@ -0,0 +1,300 @@
+/* *****************************************************************************
+ *  Name: Mingxuan Wu
+ *  Date: 2026/10/18
+ *  Description: Hash-distributed A* (HDA*, Kishimoto et al.) for the
+ *               n-puzzle. A hash of each board picks the one worker thread
+ *               that owns it; every worker runs A* over its own boards
+ *               with a private priority queue and table of best move
+ *               counts, so no search data is shared. Generated boards owned
+ *               by another worker are batched and handed over through that
+ *               worker's lock-free inbox.
+ *               Workers keep going until no open board can beat the best
+ *               goal found. Termination is detected with a single counter
+ *               of active workers plus batches in flight: a batch is
+ *               counted before it is sent and a receiving worker
+ *               reactivates before discounting it, so the counter reaches
+ *               zero only when the whole search is quiet, and it stays
+ *               there.
+ **************************************************************************** */
+
+import edu.princeton.cs.algs4.In;
+import edu.princeton.cs.algs4.MinPQ;
+import edu.princeton.cs.algs4.Stack;
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelSolver {
+    private static final int BATCH = 32; // boards per message to one worker
+    private static final int FLUSH_INTERVAL = 64; // expansions between flushes of all batches
+
+    private final boolean isSolvableFinal;
+    private final int moves;
+    private final Stack<Board> solution;
+    private long expanded;
+
+    private final BoardHeuristic heuristic;
+    private final Worker[] workers;
+    private final AtomicInteger work = new AtomicInteger(); // active workers + batches in flight
+    private volatile boolean done;
+    private volatile int bestCost = Integer.MAX_VALUE; // moves of the best goal found so far
+    private volatile SearchNode bestGoal;
+    private volatile Throwable failure;
+
+    private static class SearchNode implements Comparable<SearchNode> {
+        private final Board board;
+        private final SearchNode prevNode;
+        private final int moves;
+        private final int estimate;
+        private final int priority;
+
+        public SearchNode(Board board, SearchNode prevNode, int moves, int estimate) {
+            this.board = board;
+            this.prevNode = prevNode;
+            this.moves = moves;
+            this.estimate = estimate;
+            this.priority = moves + estimate;
+        }
+
+        public int compareTo(SearchNode that) {
+            if (this.priority != that.priority)
+                return Integer.compare(this.priority, that.priority);
+            return Integer.compare(this.estimate, that.estimate);
+        }
+    }
+
+    private class Worker extends Thread {
+        private final int id;
+        private final MinPQ<SearchNode> pq = new MinPQ<>();
+        private final HashMap<Board, Integer> best = new HashMap<>(); // fewest moves seen
+        private final ConcurrentLinkedQueue<SearchNode[]> inbox = new ConcurrentLinkedQueue<>();
+        private final ArrayList<ArrayList<SearchNode>> outbox = new ArrayList<>();
+        private boolean active = true;
+        private long expanded;
+
+        public Worker(int id) {
+            this.id = id;
+            for (int i = 0; i < workers.length; i++) outbox.add(new ArrayList<>());
+        }
+
+        public void run() {
+            try {
+                search();
+            }
+            catch (Throwable e) {
+                failure = e;
+                done = true;
+            }
+        }
+
+        private void search() {
+            int sinceFlush = 0;
+            while (!done) {
+                SearchNode[] batch;
+                while ((batch = inbox.poll()) != null) {
+                    // count this worker as active before the batch stops being counted
+                    if (!active) {
+                        active = true;
+                        work.incrementAndGet();
+                    }
+                    for (SearchNode node : batch) receive(node);
+                    work.decrementAndGet();
+                }
+
+                SearchNode node = next();
+                if (node != null) {
+                    expand(node);
+                    if (++sinceFlush == FLUSH_INTERVAL) {
+                        flushAll();
+                        sinceFlush = 0;
+                        // lets workers sharing a core interleave instead of each running far
+                        // ahead of the others' f-layer for a whole time slice
+                        Thread.yield();
+                    }
+                    continue;
+                }
+
+                // out of local work: hand off everything pending, then go passive
+                flushAll();
+                if (active) {
+                    active = false;
+                    if (work.decrementAndGet() == 0) done = true;
+                }
+                else if (work.get() == 0) done = true;
+                else Thread.yield();
+            }
+        }
+
+        // the next board worth expanding, or null if none can beat bestCost
+        private SearchNode next() {
+            while (!pq.isEmpty()) {
+                SearchNode node = pq.min();
+                if (node.priority >= bestCost) return null;
+                pq.delMin();
+                if (best.get(node.board) == node.moves) return node;
+            }
+            return null;
+        }
+
+        private void receive(SearchNode node) {
+            if (node.priority >= bestCost) return;
+            Integer known = best.get(node.board);
+            if (known != null && known <= node.moves) return;
+            best.put(node.board, node.moves);
+            pq.insert(node);
+        }
+
+        private void expand(SearchNode node) {
+            if (node.board.isGoal()) {
+                // only the goal's owner gets here, so there is a single writer
+                bestGoal = node;
+                bestCost = node.moves;
+                return;
+            }
+            expanded++;
+            Board prev = node.prevNode == null ? null : node.prevNode.board;
+            for (Board neighbor : node.board.neighbors()) {
+                if (neighbor.equals(prev)) continue;
+                SearchNode child = new SearchNode(neighbor, node, node.moves + 1,
+                                                  heuristic.estimate(neighbor));
+                if (child.priority >= bestCost) continue;
+                int owner = owner(neighbor);
+                if (owner == id) receive(child);
+                else {
+                    ArrayList<SearchNode> pending = outbox.get(owner);
+                    pending.add(child);
+                    if (pending.size() == BATCH) flush(owner);
+                }
+            }
+        }
+
+        private void flush(int owner) {
+            ArrayList<SearchNode> pending = outbox.get(owner);
+            if (pending.isEmpty()) return;
+            work.incrementAndGet();
+            workers[owner].inbox.offer(pending.toArray(new SearchNode[0]));
+            pending.clear();
+        }
+
+        private void flushAll() {
+            for (int i = 0; i < workers.length; i++) flush(i);
+        }
+    }
+
+    // find a solution to the initial board (using HDA* with Manhattan distance)
+    public ParallelSolver(Board initial, int threads) {
+        this(initial, BoardHeuristic.MANHATTAN, threads);
+    }
+
+    // find a solution to the initial board (using HDA* with the given heuristic,
+    // which must be consistent and safe to call from several threads)
+    public ParallelSolver(Board initial, BoardHeuristic heuristic, int threads) {
+        if (initial == null)
+            throw new IllegalArgumentException("Cannot initiate from a null board.");
+        if (heuristic == null)
+            throw new IllegalArgumentException("Cannot search with a null heuristic.");
+        if (threads <= 0)
+            throw new IllegalArgumentException("Need at least one thread.");
+        this.heuristic = heuristic;
+
+        isSolvableFinal = initial.isSolvable();
+        if (!isSolvableFinal) {
+            workers = null;
+            moves = -1;
+            solution = null;
+            return;
+        }
+
+        workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) workers[i] = new Worker(i);
+        workers[owner(initial)].receive(new SearchNode(initial, null, 0,
+                                                       heuristic.estimate(initial)));
+        work.set(threads);
+        for (Worker worker : workers) worker.start();
+        boolean interrupted = false;
+        for (Worker worker : workers) {
+            while (worker.isAlive()) {
+                try {
+                    worker.join();
+                }
+                catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            expanded += worker.expanded;
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+        if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+        if (failure instanceof Error) throw (Error) failure;
+
+        // a solvable board always has a goal, and workers stop only after it is found
+        moves = bestCost;
+        solution = new Stack<Board>();
+        for (SearchNode node = bestGoal; node != null; node = node.prevNode)
+            solution.push(node.board);
+    }
+
+    // the worker that owns board
+    private int owner(Board board) {
+        long h = board.key();
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) Math.floorMod(h, (long) workers.length);
+    }
+
+    // number of nodes expanded, over all workers
+    public long nodesExpanded() {
+        return expanded;
+    }
+
+    // is the initial board solvable?
+    public boolean isSolvable() {
+        return isSolvableFinal;
+    }
+
+    // min number of moves to solve initial board; -1 if unsolvable
+    public int moves() {
+        return moves;
+    }
+
+    // sequence of boards in a shortest solution; null if unsolvable
+    public Iterable<Board> solution() {
+        return solution;
+    }
+
+    // usage: ParallelSolver puzzle [threads]
+    public static void main(String[] args) {
+        // create initial board from file
+        In in = new In(args[0]);
+        int n = in.readInt();
+        int[][] tiles = new int[n][n];
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < n; j++)
+                tiles[i][j] = in.readInt();
+        Board initial = new Board(tiles);
+        int threads = args.length > 1 ? Integer.parseInt(args[1])
+                                      : Runtime.getRuntime().availableProcessors();
+
+        // solve the puzzle
+        long start = System.nanoTime();
+        ParallelSolver solver = new ParallelSolver(initial, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        // print solution to standard output
+        if (!solver.isSolvable())
+            StdOut.println("No solution possible");
+        else {
+            StdOut.println("Minimum number of moves = " + solver.moves());
+            for (Board board : solver.solution())
+                StdOut.println(board);
+        }
+        StdOut.printf("Nodes expanded = %d with %d threads in %.2f s%n",
+                      solver.nodesExpanded(), threads, seconds);
+    }
+}
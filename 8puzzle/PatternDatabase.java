@@ -0,0 +1,312 @@
+/* *****************************************************************************
+ *  Name: Mingxuan Wu
+ *  Date: 2026/10/18
+ *  Description: Additive pattern database heuristic. The tiles are split into
+ *               disjoint groups; for each group a table holds, for every
+ *               placement of the group's tiles and the blank, the fewest
+ *               moves of those tiles needed to bring them home (other tiles
+ *               are indistinguishable and move for free). Each move of the
+ *               puzzle is a move of cost 1 in the moved tile's table and a
+ *               free move in every other table, so the sum changes by at
+ *               most 1 per move: the estimate is admissible and consistent.
+ *               Tables are built by a retrograde breadth-first search from
+ *               the goal, saved as one binary file, and memory-mapped when
+ *               loaded. A placement (p_0, ..., p_{k-1}) of a group of k tiles
+ *               on N = n * n cells, with the blank on cell b, is entry
+ *               b + N * sum p_i * N^i of its table, one unsigned byte per
+ *               entry.
+ *               File: int magic, int n, int groups, then per group int k and
+ *               its k tiles, then the tables in group order.
+ **************************************************************************** */
+
+import edu.princeton.cs.algs4.In;
+import edu.princeton.cs.algs4.StdOut;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+public class PatternDatabase implements BoardHeuristic {
+    private static final int MAGIC = 0x50444232; // "PDB2"
+    private static final int UNSEEN = 0xFF;
+    private final int n;
+    private final int[][] groups; // tiles of each group
+    private final MappedByteBuffer buffer;
+    private final int[] tableStart; // offset of each group's table in buffer
+    // cell of each tile, reused by estimate(); one per thread since solvers share heuristics
+    private final ThreadLocal<int[]> positions;
+
+    // loads (memory-maps) a pattern database written by build()
+    public PatternDatabase(Path file) throws IOException {
+        if (file == null) throw new IllegalArgumentException("file should not be null");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("not a pattern database file");
+        }
+        n = buffer.getInt();
+        groups = new int[buffer.getInt()][];
+        for (int g = 0; g < groups.length; g++) {
+            groups[g] = new int[buffer.getInt()];
+            for (int i = 0; i < groups[g].length; i++) groups[g][i] = buffer.getInt();
+        }
+        tableStart = new int[groups.length];
+        int offset = buffer.position();
+        for (int g = 0; g < groups.length; g++) {
+            tableStart[g] = offset;
+            offset += tableSize(n, groups[g].length);
+        }
+        if (offset != buffer.capacity()) {
+            throw new IllegalArgumentException("pattern database file is truncated");
+        }
+        int cells = n * n;
+        positions = ThreadLocal.withInitial(() -> new int[cells]);
+    }
+
+    // board dimension the database was built for
+    public int dimension() {
+        return n;
+    }
+
+    public int estimate(Board board) {
+        if (board.dimension() != n) {
+            throw new IllegalArgumentException("board dimension does not match the database");
+        }
+        int cells = n * n;
+        int[] position = positions.get();
+        for (int index = 0; index < cells; index++) position[board.tileAt(index)] = index;
+        int sum = 0;
+        for (int g = 0; g < groups.length; g++) {
+            int entry = 0;
+            for (int i = groups[g].length - 1; i >= 0; i--) {
+                entry = entry * cells + position[groups[g][i]];
+            }
+            entry = position[0] + cells * entry;
+            sum += buffer.get(tableStart[g] + entry) & 0xFF;
+        }
+        return sum;
+    }
+
+    // entries in the table of a group of k tiles: placements of the group times blank cells
+    private static int tableSize(int n, int k) {
+        return placements(n, k) * n * n;
+    }
+
+    private static int placements(int n, int k) {
+        long size = 1;
+        for (int i = 0; i < k; i++) size *= (long) n * n;
+        return (int) size;
+    }
+
+    // consecutive tiles 1, 2, ... split into groups of groupSize (the last may be smaller)
+    public static int[][] consecutiveGroups(int n, int groupSize) {
+        int tiles = n * n - 1;
+        int[][] groups = new int[(tiles + groupSize - 1) / groupSize][];
+        for (int g = 0; g < groups.length; g++) {
+            groups[g] = new int[Math.min(groupSize, tiles - g * groupSize)];
+            for (int i = 0; i < groups[g].length; i++) groups[g][i] = g * groupSize + i + 1;
+        }
+        return groups;
+    }
+
+    // builds the tables for the given disjoint groups of an n-by-n puzzle and writes them
+    public static void build(int n, int[][] groups, Path file) throws IOException {
+        if (n < 2 || groups == null || file == null) {
+            throw new IllegalArgumentException("need n >= 2, groups and a file");
+        }
+        boolean[] seen = new boolean[n * n];
+        for (int[] group : groups) {
+            for (int tile : group) {
+                if (tile <= 0 || tile >= n * n || seen[tile]) {
+                    throw new IllegalArgumentException("groups should be disjoint sets of tiles");
+                }
+                seen[tile] = true;
+            }
+            // placements of the group times blank positions must be indexable
+            if (Math.pow(n * n, group.length + 1) > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("group too large for this n");
+            }
+        }
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file.toFile())))) {
+            out.writeInt(MAGIC);
+            out.writeInt(n);
+            out.writeInt(groups.length);
+            for (int[] group : groups) {
+                out.writeInt(group.length);
+                for (int tile : group) out.writeInt(tile);
+            }
+            for (int[] group : groups) {
+                out.write(buildTable(n, group));
+            }
+        }
+    }
+
+    // Retrograde 0-1 BFS from the goal over (placement of the group, blank position),
+    // state = blank + N * placement. Moving the blank over a cell no group tile occupies
+    // is free; sliding a group tile costs 1. Layer d is closed under free moves before
+    // layer d + 1 is generated, so every state is labelled when first seen. The blank is
+    // part of the state (no minimum over blank cells), which keeps the tables consistent.
+    private static byte[] buildTable(int n, int[] group) {
+        int cells = n * n;
+        int k = group.length;
+        byte[] state = new byte[placements(n, k) * cells];
+        Arrays.fill(state, (byte) UNSEEN);
+        int[] weight = new int[k]; // N^i
+        int[] position = new int[k];
+        for (int i = 0; i < k; i++) weight[i] = i == 0 ? 1 : weight[i - 1] * cells;
+
+        int goal = 0;
+        for (int i = 0; i < k; i++) goal += (group[i] - 1) * weight[i];
+        IntList layer = new IntList();
+        layer.add((cells - 1) + cells * goal);
+        state[(cells - 1) + cells * goal] = 0;
+        int depth = 0;
+        while (layer.size > 0) {
+            // close the layer under free blank moves
+            for (int q = 0; q < layer.size; q++) {
+                int s = layer.items[q];
+                int blank = s % cells;
+                int placement = s / cells;
+                for (int next : blankMoves(n, blank)) {
+                    if (occupant(placement, next, k, weight, cells) >= 0) continue;
+                    int t = next + cells * placement;
+                    if ((state[t] & 0xFF) == UNSEEN) {
+                        state[t] = (byte) depth;
+                        layer.add(t);
+                    }
+                }
+            }
+            // slide a group tile into the blank: next layer
+            IntList nextLayer = new IntList();
+            for (int q = 0; q < layer.size; q++) {
+                int s = layer.items[q];
+                int blank = s % cells;
+                int placement = s / cells;
+                for (int next : blankMoves(n, blank)) {
+                    int i = occupant(placement, next, k, weight, cells);
+                    if (i < 0) continue;
+                    int moved = placement + (blank - next) * weight[i];
+                    int t = next + cells * moved;
+                    if ((state[t] & 0xFF) == UNSEEN) {
+                        state[t] = (byte) Math.min(depth + 1, UNSEEN - 1);
+                        nextLayer.add(t);
+                    }
+                }
+            }
+            layer = nextLayer;
+            depth++;
+        }
+        return state;
+    }
+
+    // index in the group of the tile on cell, or -1
+    private static int occupant(int placement, int cell, int k, int[] weight, int cells) {
+        for (int i = 0; i < k; i++) {
+            if ((placement / weight[i]) % cells == cell) return i;
+        }
+        return -1;
+    }
+
+    // cells the blank can move to
+    private static int[] blankMoves(int n, int blank) {
+        int row = blank / n;
+        int col = blank % n;
+        int[] moves = new int[(row > 0 ? 1 : 0) + (row < n - 1 ? 1 : 0)
+                + (col > 0 ? 1 : 0) + (col < n - 1 ? 1 : 0)];
+        int count = 0;
+        if (row > 0) moves[count++] = blank - n;
+        if (row < n - 1) moves[count++] = blank + n;
+        if (col > 0) moves[count++] = blank - 1;
+        if (col < n - 1) moves[count++] = blank + 1;
+        return moves;
+    }
+
+    // growable list of ints
+    private static class IntList {
+        private int[] items = new int[16];
+        private int size;
+
+        void add(int item) {
+            if (size == items.length) items = Arrays.copyOf(items, 2 * size);
+            items[size++] = item;
+        }
+    }
+
+    // checks the database against exact distances from a breadth-first search over every
+    // board reachable from the goal (practical up to 3-by-3): the estimate never exceeds
+    // the distance, changes by at most 1 per move, and Solver with a closed set finds
+    // optimal solutions; prints the number of violations of each
+    private static void check(PatternDatabase database) {
+        int n = database.dimension();
+        int[][] tiles = new int[n][n];
+        for (int i = 0; i < n * n; i++) tiles[i / n][i % n] = (i + 1) % (n * n);
+        Board goal = new Board(tiles);
+        LongIntHashMap distance = new LongIntHashMap();
+        ArrayDeque<Board> queue = new ArrayDeque<>();
+        distance.put(goal.key(), 0);
+        queue.add(goal);
+        long boards = 0;
+        long overestimates = 0;
+        long inconsistentEdges = 0;
+        long suboptimal = 0;
+        while (!queue.isEmpty()) {
+            Board board = queue.remove();
+            int d = distance.get(board.key(), -1);
+            int h = database.estimate(board);
+            boards++;
+            if (h > d) overestimates++;
+            for (Board neighbor : board.neighbors()) {
+                if (Math.abs(h - database.estimate(neighbor)) > 1) inconsistentEdges++;
+                if (!distance.contains(neighbor.key())) {
+                    distance.put(neighbor.key(), d + 1);
+                    queue.add(neighbor);
+                }
+            }
+            if (new Solver(board, database, true).moves() != d) suboptimal++;
+        }
+        StdOut.println("boards = " + boards + ", overestimates = " + overestimates
+                               + ", inconsistent edges = " + inconsistentEdges
+                               + ", suboptimal solutions = " + suboptimal);
+    }
+
+    // usage: PatternDatabase build n groupSize file
+    //        PatternDatabase solve file puzzle
+    //        PatternDatabase check file
+    public static void main(String[] args) throws IOException {
+        if (args[0].equals("build")) {
+            int n = Integer.parseInt(args[1]);
+            int groupSize = Integer.parseInt(args[2]);
+            build(n, consecutiveGroups(n, groupSize), Paths.get(args[3]));
+            return;
+        }
+        if (args[0].equals("check")) {
+            check(new PatternDatabase(Paths.get(args[1])));
+            return;
+        }
+        PatternDatabase database = new PatternDatabase(Paths.get(args[1]));
+        In in = new In(args[2]);
+        int n = in.readInt();
+        int[][] tiles = new int[n][n];
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < n; j++)
+                tiles[i][j] = in.readInt();
+        Board initial = new Board(tiles);
+        StdOut.println("Manhattan = " + initial.manhattan()
+                               + ", pattern database = " + database.estimate(initial));
+        Solver solver = new Solver(initial, database, true);
+        StdOut.println("Minimum number of moves = " + solver.moves());
+        StdOut.println("Nodes expanded = " + solver.nodesExpanded()
+                               + ", pruned = " + solver.nodesPruned());
+    }
+}
@@ -1,110 +1,416 @@
 /* *****************************************************************************
  *  Name: Mingxuan Wu
- *  Date: 2020/08/04
+ *  Date: 2026/10/18
  *  Description: Solver class to handle 8puzzle problem
  **************************************************************************** */
 
 import edu.princeton.cs.algs4.In;
-import edu.princeton.cs.algs4.MinPQ;
 import edu.princeton.cs.algs4.Stack;
 import edu.princeton.cs.algs4.StdOut;
 
+import java.util.Arrays;
+
 public class Solver {
+    // largest weight the anytime search takes: its queue keys are 16 (g + weight * h),
+    // so the bucket queue spans up to 16 * weight times the largest f
+    public static final double MAX_WEIGHT = 16.0;
     private final boolean isSolvableFinal;
     private final int moves;
     private final Stack<Board> solution;
+    private final long expanded;
+    private final long pruned;
+    private final boolean budgetExceeded;
+    private final double bound; // moves is at most bound times the optimum
+    private final BoardHeuristic heuristic;
 
-    private class SearchNode implements Comparable<SearchNode> {
-        private final Board currentBoard;
-        private final int moves;
-        private final int manhattan;
-        private final SearchNode prevNode;
-        private final int priority;
+    // Search nodes live in parallel arrays indexed by node number (board, moves, parent
+    // node), so a stored node costs about 24 bytes instead of a SearchNode and its Board.
+    // Boards up to 4-by-4 are stored as their packed key() with their blank, Manhattan
+    // and Hamming distances, and rebuilt from those (no rescan) when expanded.
+    private static class Nodes {
+        private static final int INITIAL_NODES = 1024;
+        private final int n;
+        private long[] keys; // key() of each board if boards pack, null otherwise
+        private Board[] boards; // each board if boards do not pack, null otherwise
+        // manhattan << 16 | hamming << 8 | blank of each board if boards pack
+        private int[] costs;
+        private int[] moves;
+        private int[] parents; // parent node, -1 for the initial board
+        private int size;
 
-        public SearchNode(Board board, SearchNode prevNode, int moves) {
-            this.moves = moves;
-            this.currentBoard = board;
-            this.prevNode = prevNode;
-            this.manhattan = board.manhattan();
-            this.priority = this.manhattan + this.moves;
+        public Nodes(int n) {
+            this.n = n;
+            if (Board.packs(n)) {
+                keys = new long[INITIAL_NODES];
+                costs = new int[INITIAL_NODES];
+            }
+            else boards = new Board[INITIAL_NODES];
+            moves = new int[INITIAL_NODES];
+            parents = new int[INITIAL_NODES];
         }
 
-        public int getMoves() {
-            return moves;
+        // store a node and return its number
+        public int add(Board board, int g, int parent) {
+            if (size == moves.length) {
+                int capacity = 2 * size;
+                if (keys != null) {
+                    keys = Arrays.copyOf(keys, capacity);
+                    costs = Arrays.copyOf(costs, capacity);
+                }
+                else boards = Arrays.copyOf(boards, capacity);
+                moves = Arrays.copyOf(moves, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+            }
+            if (keys != null) {
+                keys[size] = board.key();
+                costs[size] = board.manhattan() << 16 | board.hamming() << 8
+                        | board.blankIndex();
+            }
+            else boards[size] = board;
+            moves[size] = g;
+            parents[size] = parent;
+            return size++;
         }
 
-        public Board getBoard() {
-            return currentBoard;
+        public long key(int node) {
+            return keys != null ? keys[node] : boards[node].key();
         }
 
-        public SearchNode getPrevNode() {
-            return prevNode;
+        public Board board(int node) {
+            if (keys == null) return boards[node];
+            int cost = costs[node];
+            return new Board(n, keys[node], cost & 0xFF, cost >>> 16, (cost >>> 8) & 0xFF);
         }
 
-        public int compareTo(SearchNode that) {
-            if (this.priority < that.priority) return -1;
-            else if (this.priority > that.priority) return 1;
-            else return Integer.compare(this.manhattan, that.manhattan);
+        public int moves(int node) {
+            return moves[node];
         }
-    }
 
-    // find a solution to the initial board (using the A* algorithm)
-    public Solver(Board initial) {
-        if (initial == null)
-            throw new IllegalArgumentException("Cannot initiate from a null board.");
+        public int parent(int node) {
+            return parents[node];
+        }
 
-        SearchNode initialSearchNode = new SearchNode(initial, null, 0);
-        SearchNode twinInitialSearchNode = new SearchNode(initial.twin(), null, 0);
-        MinPQ<SearchNode> pq = new MinPQ<>();
-        pq.insert(initialSearchNode);
-        MinPQ<SearchNode> twinPq = new MinPQ<>();
-        twinPq.insert(twinInitialSearchNode);
-
-        boolean isSolvable = false;
-        SearchNode finalNode = null;
-
-        while (!pq.isEmpty() && !twinPq.isEmpty()) {
-            SearchNode tempSearchNode = pq.delMin();
-            if (tempSearchNode.getBoard().isGoal()) {
-                isSolvable = true;
-                finalNode = tempSearchNode;
-                break;
+        // is board the board of node?
+        public boolean holds(int node, Board board) {
+            if (keys != null) return board.key() == keys[node];
+            return board.equals(boards[node]);
+        }
+
+        // boards from the initial board to node's board
+        public Stack<Board> path(int node) {
+            Stack<Board> path = new Stack<Board>();
+            for (; node >= 0; node = parents[node]) {
+                path.push(board(node));
             }
-            else {
-                for (Board neighbor : tempSearchNode.getBoard().neighbors()) {
-                    if (tempSearchNode.getPrevNode() == null || !neighbor
-                            .equals(tempSearchNode.getPrevNode().getBoard()))
-                        pq.insert(new SearchNode(neighbor, tempSearchNode,
-                                                 tempSearchNode.getMoves() + 1));
+            return path;
+        }
+    }
+
+    // One A* search. Without a closed set a neighbor is only skipped when it equals
+    // the parent's board; with it, any board already expanded is skipped (Manhattan
+    // distance and pattern databases are consistent, so the first expansion of a board is
+    // along a shortest path)
+    // An IntBucketQueue holds node numbers keyed by f = moves + estimate, ties going to the
+    // smaller estimate, in place of a MinPQ of SearchNodes.
+    private class Search {
+        private final Nodes nodes;
+        private int last = -1; // node taken by the latest step()
+        private final IntBucketQueue pq = new IntBucketQueue();
+        private final LongHashSet closed;
+        private long expanded;
+        private long pruned;
+
+        public Search(Board initial, boolean useClosedSet) {
+            nodes = new Nodes(initial.dimension());
+            closed = useClosedSet ? new LongHashSet() : null;
+            add(initial, 0, -1);
+        }
+
+        private void add(Board board, int g, int parent) {
+            int estimate = heuristic.estimate(board);
+            pq.insert(nodes.add(board, g, parent), priority(g + estimate, estimate));
+        }
+
+        // queue key ordering by f, then by estimate (0 <= estimate <= f): f(f + 1) / 2 is
+        // past every key of a smaller f, so the pair fits in one int without a bound on f
+        private int priority(int f, int estimate) {
+            return f * (f + 1) / 2 + estimate;
+        }
+
+        // takes the next node off the queue and expands it unless it is the goal;
+        // returns that node's board (the node is last), or null if the queue ran out
+        public Board step() {
+            while (!pq.isEmpty()) {
+                int node = pq.delMin();
+                if (closed != null && !closed.add(nodes.key(node))) {
+                    pruned++;
+                    continue;
+                }
+                last = node;
+                Board board = nodes.board(node);
+                if (board.isGoal()) return board;
+                expanded++;
+                int parent = nodes.parent(node);
+                for (Board neighbor : board.neighbors()) {
+                    boolean duplicate;
+                    if (closed != null) duplicate = closed.contains(neighbor.key());
+                    else duplicate = parent >= 0 && nodes.holds(parent, neighbor);
+                    if (duplicate) pruned++;
+                    else add(neighbor, nodes.moves(node) + 1, node);
                 }
+                return board;
             }
+            return null;
+        }
+    }
 
-            SearchNode twinTempSearchNode = twinPq.delMin();
-            if (twinTempSearchNode.getBoard().isGoal()) {
-                break;
+    // Anytime weighted A* (Hansen and Zhou): nodes come off the queue by g + weight * h,
+    // which reaches some solution quickly, and the search then keeps going to improve it,
+    // dropping every node with g + h no smaller than the best solution so far. Boards
+    // reached again with fewer moves are queued again. As in ARA* (Likhachev et al.) each
+    // new solution halves the weight's excess over 1 and the queue is rekeyed, so later
+    // solutions come closer to optimal. The smallest g + h of any queued node (tracked by
+    // counts per value) is a lower bound on the optimal number of moves.
+    private class AnytimeSearch {
+        private static final int WEIGHT_SCALE = 16; // queue keys are g + weight * h in 1/16
+        private final Nodes nodes;
+        private double weight;
+        private IntBucketQueue pq = new IntBucketQueue();
+        private final LongIntHashMap fewest = new LongIntHashMap(); // fewest moves to a board
+        private int[] queuedByF = new int[64]; // queued nodes by g + h
+        private int minF; // no node with a smaller g + h is queued
+        private int incumbent = Integer.MAX_VALUE; // moves of the best solution found
+        private int incumbentNode = -1;
+        private long expanded;
+        private long pruned;
+
+        public AnytimeSearch(Board initial, double weight) {
+            nodes = new Nodes(initial.dimension());
+            this.weight = weight;
+            add(initial, 0, -1);
+        }
+
+        private void add(Board board, int g, int parent) {
+            int estimate = heuristic.estimate(board);
+            int f = g + estimate;
+            if (f >= incumbent || fewest.get(board.key(), Integer.MAX_VALUE) <= g) {
+                pruned++;
+                return;
             }
-            else {
-                for (Board neighbor : twinTempSearchNode.getBoard().neighbors()) {
-                    if (twinTempSearchNode.getPrevNode() == null || !neighbor
-                            .equals(twinTempSearchNode.getPrevNode().getBoard()))
-                        twinPq.insert(new SearchNode(neighbor, twinTempSearchNode,
-                                                     twinTempSearchNode.getMoves() + 1));
+            fewest.put(board.key(), g);
+            int node = nodes.add(board, g, parent);
+            pq.insert(node, priority(g, estimate));
+            if (f >= queuedByF.length) queuedByF = Arrays.copyOf(queuedByF, 2 * f);
+            queuedByF[f]++;
+            if (f < minF) minF = f;
+        }
+
+        // takes the next useful node off the queue and expands it, or records it as the
+        // new best solution; returns false once the queue ran out (the best is optimal)
+        public boolean step() {
+            while (!pq.isEmpty()) {
+                int node = pq.delMin();
+                Board board = nodes.board(node);
+                int g = nodes.moves(node);
+                int f = g + heuristic.estimate(board);
+                queuedByF[f]--;
+                if (f >= incumbent || fewest.get(board.key(), Integer.MAX_VALUE) < g) {
+                    pruned++;
+                    continue;
                 }
+                if (board.isGoal()) {
+                    incumbent = g;
+                    incumbentNode = node;
+                    lowerWeight();
+                    return true;
+                }
+                expanded++;
+                int parent = nodes.parent(node);
+                for (Board neighbor : board.neighbors()) {
+                    if (parent >= 0 && nodes.holds(parent, neighbor)) pruned++;
+                    else add(neighbor, g + 1, node);
+                }
+                return true;
             }
+            return false;
         }
-        isSolvableFinal = isSolvable;
-        if (isSolvableFinal) {
-            moves = finalNode.getMoves();
-            solution = new Stack<Board>();
-            while (finalNode != null) {
-                solution.push(finalNode.getBoard());
-                finalNode = finalNode.getPrevNode();
+
+        private int priority(int g, int estimate) {
+            return (int) Math.round(WEIGHT_SCALE * (g + weight * estimate));
+        }
+
+        // move the weight halfway to 1 and requeue the nodes that can still improve on
+        // the best solution under their new keys
+        private void lowerWeight() {
+            if (weight == 1.0) return;
+            weight = weight < 1.05 ? 1.0 : 1.0 + (weight - 1.0) / 2;
+            IntBucketQueue rekeyed = new IntBucketQueue();
+            while (!pq.isEmpty()) {
+                int node = pq.delMin();
+                int g = nodes.moves(node);
+                int estimate = heuristic.estimate(nodes.board(node));
+                if (g + estimate >= incumbent) {
+                    queuedByF[g + estimate]--;
+                    pruned++;
+                }
+                else rekeyed.insert(node, priority(g, estimate));
             }
+            pq = rekeyed;
         }
-        else {
+
+        // no solution has fewer moves than this
+        public int lowerBound() {
+            while (minF < queuedByF.length && queuedByF[minF] == 0) minF++;
+            return Math.min(minF, incumbent);
+        }
+    }
+
+    // find a solution to the initial board (using the A* algorithm)
+    public Solver(Board initial) {
+        this(initial, false);
+    }
+
+    // find a solution to the initial board (using the A* algorithm),
+    // dropping boards that were already expanded if useClosedSet
+    public Solver(Board initial, boolean useClosedSet) {
+        this(initial, BoardHeuristic.MANHATTAN, useClosedSet);
+    }
+
+    // find a solution to the initial board (using the A* algorithm) with the given
+    // heuristic in place of Manhattan distance
+    public Solver(Board initial, BoardHeuristic heuristic, boolean useClosedSet) {
+        this(initial, heuristic, useClosedSet, Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    // same, but gives up (budgetExceeded() is true) after maxExpansions expanded nodes,
+    // after timeLimitMillis milliseconds, or when the thread is interrupted
+    public Solver(Board initial, BoardHeuristic heuristic, boolean useClosedSet,
+                  long maxExpansions, long timeLimitMillis) {
+        if (initial == null)
+            throw new IllegalArgumentException("Cannot initiate from a null board.");
+        if (heuristic == null)
+            throw new IllegalArgumentException("Cannot search with a null heuristic.");
+        if (maxExpansions <= 0 || timeLimitMillis <= 0)
+            throw new IllegalArgumentException("Budgets should be positive.");
+        this.heuristic = heuristic;
+
+        // solvability is decided by inversion parity, so unsolvable boards are never searched
+        isSolvableFinal = initial.isSolvable();
+        if (!isSolvableFinal) {
+            expanded = 0;
+            pruned = 0;
+            budgetExceeded = false;
+            moves = -1;
+            solution = null;
+            bound = Double.POSITIVE_INFINITY;
+            return;
+        }
+
+        // a solvable board always reaches the goal before the queue runs out
+        long start = System.nanoTime();
+        long timeLimitNanos = timeLimitMillis > Long.MAX_VALUE / 1000000
+                              ? Long.MAX_VALUE : timeLimitMillis * 1000000;
+        Search search = new Search(initial, useClosedSet);
+        Board finalBoard = search.step();
+        boolean exceeded = false;
+        while (!finalBoard.isGoal()) {
+            if (search.expanded >= maxExpansions) exceeded = true;
+            // the clock and interrupt flag are only read every 1024 expansions
+            else if ((search.expanded & 1023) == 0
+                    && (System.nanoTime() - start > timeLimitNanos
+                    || Thread.currentThread().isInterrupted())) exceeded = true;
+            if (exceeded) break;
+            finalBoard = search.step();
+        }
+        expanded = search.expanded;
+        pruned = search.pruned;
+        budgetExceeded = exceeded;
+        if (exceeded) {
             moves = -1;
             solution = null;
+            bound = Double.POSITIVE_INFINITY;
+            return;
         }
+        moves = search.nodes.moves(search.last);
+        solution = search.nodes.path(search.last);
+        bound = 1.0;
+    }
+
+    // find a solution to the initial board within timeLimitMillis milliseconds (using
+    // anytime weighted A* with the given weight, 1 to MAX_WEIGHT, on the heuristic): the
+    // first solution costs at most weight times the optimum, and later ones improve on it
+    // until the time is up or the best is proven optimal; suboptimalityBound() says how
+    // close the returned solution is
+    public Solver(Board initial, BoardHeuristic heuristic, double weight,
+                  long timeLimitMillis) {
+        if (initial == null)
+            throw new IllegalArgumentException("Cannot initiate from a null board.");
+        if (heuristic == null)
+            throw new IllegalArgumentException("Cannot search with a null heuristic.");
+        if (!(weight >= 1.0))
+            throw new IllegalArgumentException("The weight should be at least 1.");
+        if (weight > MAX_WEIGHT)
+            throw new IllegalArgumentException("The weight should be at most " + MAX_WEIGHT + ".");
+        if (timeLimitMillis <= 0)
+            throw new IllegalArgumentException("Budgets should be positive.");
+        this.heuristic = heuristic;
+
+        isSolvableFinal = initial.isSolvable();
+        if (!isSolvableFinal) {
+            expanded = 0;
+            pruned = 0;
+            budgetExceeded = false;
+            moves = -1;
+            solution = null;
+            bound = Double.POSITIVE_INFINITY;
+            return;
+        }
+
+        long start = System.nanoTime();
+        long timeLimitNanos = timeLimitMillis > Long.MAX_VALUE / 1000000
+                              ? Long.MAX_VALUE : timeLimitMillis * 1000000;
+        AnytimeSearch search = new AnytimeSearch(initial, weight);
+        long steps = 0;
+        while (search.step()) {
+            // the clock and interrupt flag are only read every 1024 steps
+            if ((++steps & 1023) == 0 && (System.nanoTime() - start > timeLimitNanos
+                    || Thread.currentThread().isInterrupted())) break;
+        }
+        expanded = search.expanded;
+        pruned = search.pruned;
+        budgetExceeded = search.incumbentNode < 0;
+        if (budgetExceeded) {
+            moves = -1;
+            solution = null;
+            bound = Double.POSITIVE_INFINITY;
+            return;
+        }
+        moves = search.incumbent;
+        solution = search.nodes.path(search.incumbentNode);
+        int lowerBound = search.lowerBound();
+        bound = moves == lowerBound ? 1.0 : (double) moves / lowerBound;
+    }
+
+    // moves() is at most this factor times the minimum number of moves: 1 if the solution
+    // is proven optimal, infinite if there is no solution
+    public double suboptimalityBound() {
+        return bound;
+    }
+
+    // did the search stop on its budget before finding a solution?
+    // (then moves() is -1 and solution() is null although the board is solvable)
+    public boolean budgetExceeded() {
+        return budgetExceeded;
+    }
+
+    // number of nodes expanded
+    public long nodesExpanded() {
+        return expanded;
+    }
+
+    // number of nodes dropped as duplicates
+    public long nodesPruned() {
+        return pruned;
     }
 
     // is the initial board solvable? (see below)
@@ -112,12 +418,14 @@ public class Solver {
         return isSolvableFinal;
     }
 
-    // min number of moves to solve initial board; -1 if unsolvable
+    // min number of moves to solve initial board (for anytime search, of the best solution
+    // found); -1 if unsolvable
     public int moves() {
         return moves;
     }
 
-    // sequence of boards in a shortest solution; null if unsolvable
+    // sequence of boards in a shortest solution (for anytime search, in the best one
+    // found); null if unsolvable
     public Iterable<Board> solution() {
         return solution;
     }
@@ -132,16 +440,31 @@ public class Solver {
                 tiles[i][j] = in.readInt();
         Board initial = new Board(tiles);
 
-        // solve the puzzle
-        Solver solver = new Solver(initial);
+        // solve the puzzle; optional second argument "closed" turns on the closed set,
+        // arguments "weight millis" run anytime weighted A* instead
+        Solver solver;
+        if (args.length > 2) {
+            double weight = Double.parseDouble(args[1]);
+            long millis = Long.parseLong(args[2]);
+            solver = new Solver(initial, BoardHeuristic.MANHATTAN, weight, millis);
+        }
+        else {
+            boolean useClosedSet = args.length > 1 && args[1].equals("closed");
+            solver = new Solver(initial, useClosedSet);
+        }
 
         // print solution to standard output
         if (!solver.isSolvable())
             StdOut.println("No solution possible");
+        else if (solver.budgetExceeded())
+            StdOut.println("No solution found within the budget");
         else {
             StdOut.println("Minimum number of moves = " + solver.moves());
             for (Board board : solver.solution())
                 StdOut.println(board);
         }
+        StdOut.println("Nodes expanded = " + solver.nodesExpanded()
+                               + ", pruned = " + solver.nodesPruned()
+                               + ", suboptimality bound = " + solver.suboptimalityBound());
     }
 }
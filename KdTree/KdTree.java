@@ -2,11 +2,16 @@
  *  Name: Mingxuan Wu
  *  Date: 2020/08/11
  *  Description: Use kd-tree to find nearest neighbor and points in a rectangle
+ *               Queries keep their state on the call stack, so any number of
+ *               threads may query one tree while no insert runs; snapshot()
+ *               gives an immutable copy for serving reads while it changes.
  **************************************************************************** */
 
+import edu.princeton.cs.algs4.MaxPQ;
 import edu.princeton.cs.algs4.Point2D;
 import edu.princeton.cs.algs4.Queue;
 import edu.princeton.cs.algs4.RectHV;
+import edu.princeton.cs.algs4.Stack;
 import edu.princeton.cs.algs4.StdDraw;
 
 public class KdTree {
@@ -23,10 +28,23 @@ public class KdTree {
         }
     }
 
+    // a point and its squared distance to a query point, ordered by that distance
+    private static class Candidate implements Comparable<Candidate> {
+        private final Point2D p;
+        private final double distanceSquared;
+
+        public Candidate(Point2D p, double distanceSquared) {
+            this.p = p;
+            this.distanceSquared = distanceSquared;
+        }
+
+        public int compareTo(Candidate that) {
+            return Double.compare(distanceSquared, that.distanceSquared);
+        }
+    }
+
     private Node root;
     private int size;
-    private Point2D nearestNeighbor;
-    private double minDistance;
 
     public KdTree() {
         root = null;
@@ -142,30 +160,74 @@ public class KdTree {
         if (p == null)
             throw new IllegalArgumentException("cannot find nearest point for null point");
         if (isEmpty()) return null;
-        minDistance = Double.POSITIVE_INFINITY;
-        nearestNeighbor = root.p;
-        nearest(root, p);
-        return nearestNeighbor;
+        return nearest(root, p, root.p);
     }
 
-    // helper function to find nearest neighbor
-    private void nearest(Node x, Point2D p) {
-        if (x == null) return;
+    // helper function to find nearest neighbor: returns the nearer of champion and the
+    // points in subtree x
+    private Point2D nearest(Node x, Point2D p, Point2D champion) {
+        if (x == null) return champion;
         // check x.p
-        double currentDistance = x.p.distanceTo(p);
-        if (currentDistance < minDistance) {
-            minDistance = currentDistance;
-            nearestNeighbor = x.p;
-        }
+        if (x.p.distanceSquaredTo(p) < champion.distanceSquaredTo(p)) champion = x.p;
         int cmp = compareRectangle(x.lb, x.rt, p);
-        if (cmp < 0) {
-            nearest(x.lb, p);
-            if (x.rt != null && minDistance > x.rt.rect.distanceTo(p)) nearest(x.rt, p);
-        }
-        else {
-            nearest(x.rt, p);
-            if (x.lb != null && minDistance > x.lb.rect.distanceTo(p)) nearest(x.lb, p);
+        Node first = cmp < 0 ? x.lb : x.rt;
+        Node second = cmp < 0 ? x.rt : x.lb;
+        champion = nearest(first, p, champion);
+        if (second != null && champion.distanceSquaredTo(p) > second.rect.distanceSquaredTo(p))
+            champion = nearest(second, p, champion);
+        return champion;
+    }
+
+    // the k points in the set nearest to p, nearest first (all points if fewer than k)
+    public Iterable<Point2D> nearest(Point2D p, int k) {
+        if (p == null)
+            throw new IllegalArgumentException("cannot find nearest points for null point");
+        if (k < 0) throw new IllegalArgumentException("k should be non-negative");
+        MaxPQ<Candidate> best = new MaxPQ<>();
+        if (k > 0 && root != null) nearest(root, p, k, best);
+        Stack<Point2D> nearestFirst = new Stack<>();
+        while (!best.isEmpty()) nearestFirst.push(best.delMax().p);
+        return nearestFirst;
+    }
+
+    // helper function to find k nearest neighbors: best is a max-heap of at most k
+    // candidates, so its top is the one to drop when a nearer point turns up
+    private void nearest(Node x, Point2D p, int k, MaxPQ<Candidate> best) {
+        double currentDistance = x.p.distanceSquaredTo(p);
+        if (best.size() < k) best.insert(new Candidate(x.p, currentDistance));
+        else if (currentDistance < best.max().distanceSquared) {
+            best.delMax();
+            best.insert(new Candidate(x.p, currentDistance));
         }
+        int cmp = compareRectangle(x.lb, x.rt, p);
+        Node first = cmp < 0 ? x.lb : x.rt;
+        Node second = cmp < 0 ? x.rt : x.lb;
+        if (mayImprove(first, p, k, best)) nearest(first, p, k, best);
+        if (mayImprove(second, p, k, best)) nearest(second, p, k, best);
+    }
+
+    // could subtree x hold a point nearer to p than the k-th nearest found so far?
+    private boolean mayImprove(Node x, Point2D p, int k, MaxPQ<Candidate> best) {
+        if (x == null) return false;
+        return best.size() < k || x.rect.distanceSquaredTo(p) < best.max().distanceSquared;
+    }
+
+    // all points at distance at most r from p
+    public Iterable<Point2D> withinRadius(Point2D p, double r) {
+        if (p == null)
+            throw new IllegalArgumentException("cannot implement radius search on a null point");
+        if (!(r >= 0)) throw new IllegalArgumentException("radius should be non-negative");
+        Queue<Point2D> queue = new Queue<>();
+        withinRadius(root, p, r * r, queue);
+        return queue;
+    }
+
+    // private helper function used in radius search
+    private void withinRadius(Node x, Point2D p, double radiusSquared, Queue<Point2D> queue) {
+        if (x == null || x.rect.distanceSquaredTo(p) > radiusSquared) return;
+        if (x.p.distanceSquaredTo(p) <= radiusSquared) queue.enqueue(x.p);
+        withinRadius(x.lb, p, radiusSquared, queue);
+        withinRadius(x.rt, p, radiusSquared, queue);
     }
 
     // helper function to determine which sub-tree to search first
@@ -177,10 +239,29 @@ public class KdTree {
         if (x.rect.contains(p)) return -1;
         if (y.rect.contains(p)) return 1;
         // otherwise, search in the subtree that is closer to the point
-        if (x.rect.distanceTo(p) < y.rect.distanceTo(p)) return -1;
+        if (x.rect.distanceSquaredTo(p) < y.rect.distanceSquaredTo(p)) return -1;
         return 1;
     }
 
+    // an immutable, bulk-built copy of the current points, which later inserts do not
+    // change; safe to query from any number of threads
+    public StaticKdTree snapshot() {
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        int count = 0;
+        Stack<Node> stack = new Stack<>();
+        if (root != null) stack.push(root);
+        while (!stack.isEmpty()) {
+            Node x = stack.pop();
+            xs[count] = x.p.x();
+            ys[count] = x.p.y();
+            count++;
+            if (x.lb != null) stack.push(x.lb);
+            if (x.rt != null) stack.push(x.rt);
+        }
+        return new StaticKdTree(xs, ys);
+    }
+
     public static void main(String[] args) {
         KdTree testKdTree = new KdTree();
         testKdTree.insert(new Point2D(0.7, 0.2));
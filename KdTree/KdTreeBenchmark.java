@@ -0,0 +1,148 @@
+/* *****************************************************************************
+ *  Name: Mingxuan Wu
+ *  Date: 2026/10/18
+ *  Description: Times k-nearest-neighbor and radius queries on KdTree
+ *               against the brute-force PointSET over the same random
+ *               points, after checking that both give the same answers
+ *               (compared by distance, since equally distant points may
+ *               come back in either order).
+ *               Then times nearest(p) from 1, 2, 4, ... threads sharing one
+ *               KdTree and one snapshot() of it, each thread taking an
+ *               equal slice of the queries.
+ **************************************************************************** */
+
+import edu.princeton.cs.algs4.Point2D;
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+public class KdTreeBenchmark {
+    // queries per second of k-nearest-neighbor search; adds into checksum so the work
+    // cannot be skipped
+    private static double timeNearest(KdTree tree, PointSET set, Point2D[] queries, int k,
+                                      double[] checksum) {
+        long start = System.nanoTime();
+        for (Point2D q : queries) {
+            Iterable<Point2D> found = tree != null ? tree.nearest(q, k) : set.nearest(q, k);
+            for (Point2D p : found) checksum[0] += p.x();
+        }
+        return queries.length / ((System.nanoTime() - start) / 1e9);
+    }
+
+    // queries per second of radius search
+    private static double timeRadius(KdTree tree, PointSET set, Point2D[] queries, double r,
+                                     double[] checksum) {
+        long start = System.nanoTime();
+        for (Point2D q : queries) {
+            Iterable<Point2D> found = tree != null ? tree.withinRadius(q, r)
+                                                   : set.withinRadius(q, r);
+            for (Point2D p : found) checksum[0] += p.x();
+        }
+        return queries.length / ((System.nanoTime() - start) / 1e9);
+    }
+
+    // queries per second of nearest(p) with the queries split evenly over threads that
+    // share one tree
+    private static double timeConcurrent(Function<Point2D, Point2D> nearest, Point2D[] queries,
+                                         int threads, double[] checksum)
+            throws InterruptedException {
+        double[] sums = new double[threads]; // written once per thread, at the end
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            int lo = (int) ((long) queries.length * t / threads);
+            int hi = (int) ((long) queries.length * (t + 1) / threads);
+            workers[t] = new Thread(() -> {
+                double sum = 0;
+                for (int i = lo; i < hi; i++) sum += nearest.apply(queries[i]).x();
+                sums[id] = sum;
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread worker : workers) worker.start();
+        for (Thread worker : workers) worker.join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        for (double sum : sums) checksum[0] += sum;
+        return queries.length / seconds;
+    }
+
+    // squared distances from q to the points, in the order given
+    private static double[] distances(Iterable<Point2D> points, Point2D q) {
+        int count = 0;
+        for (Point2D p : points) count++;
+        double[] distances = new double[count];
+        int i = 0;
+        for (Point2D p : points) distances[i++] = p.distanceSquaredTo(q);
+        return distances;
+    }
+
+    private static Point2D[] randomPoints(int n) {
+        Point2D[] points = new Point2D[n];
+        for (int i = 0; i < n; i++)
+            points[i] = new Point2D(StdRandom.uniform(), StdRandom.uniform());
+        return points;
+    }
+
+    // usage: KdTreeBenchmark n queries k r [maxThreads]
+    public static void main(String[] args) throws InterruptedException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+        int k = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        double r = args.length > 3 ? Double.parseDouble(args[3]) : 0.01;
+        int maxThreads = args.length > 4 ? Integer.parseInt(args[4])
+                                         : Runtime.getRuntime().availableProcessors();
+        StdRandom.setSeed(2020);
+
+        KdTree tree = new KdTree();
+        PointSET set = new PointSET();
+        for (Point2D p : randomPoints(n)) {
+            tree.insert(p);
+            set.insert(p);
+        }
+        StaticKdTree snapshot = tree.snapshot();
+        Point2D[] targets = randomPoints(queries);
+        // brute force is far slower, so it answers only a slice of the queries
+        Point2D[] bruteTargets = new Point2D[Math.max(1, Math.min(queries, 20000000 / n))];
+        System.arraycopy(targets, 0, bruteTargets, 0, bruteTargets.length);
+
+        int mismatches = 0;
+        for (Point2D q : bruteTargets) {
+            double nearest = set.nearest(q).distanceSquaredTo(q);
+            if (tree.nearest(q).distanceSquaredTo(q) != nearest) mismatches++;
+            if (snapshot.nearest(q).distanceSquaredTo(q) != nearest) mismatches++;
+            double[] fast = distances(tree.nearest(q, k), q);
+            double[] slow = distances(set.nearest(q, k), q);
+            if (!Arrays.equals(fast, slow)) mismatches++;
+            double[] inFast = distances(tree.withinRadius(q, r), q);
+            double[] inSlow = distances(set.withinRadius(q, r), q);
+            Arrays.sort(inFast);
+            Arrays.sort(inSlow);
+            if (!Arrays.equals(inFast, inSlow)) mismatches++;
+        }
+        System.out.printf("n=%d k=%d r=%g: %d mismatches in %d queries%n", n, k, r, mismatches,
+                          bruteTargets.length);
+
+        double[] checksum = new double[1];
+        for (int round = 0; round < 3; round++) {
+            double treeNearest = timeNearest(tree, null, targets, k, checksum);
+            double setNearest = timeNearest(null, set, bruteTargets, k, checksum);
+            double treeRadius = timeRadius(tree, null, targets, r, checksum);
+            double setRadius = timeRadius(null, set, bruteTargets, r, checksum);
+            System.out.printf("nearest(p, %d)   KdTree %10.0f/s   PointSET %8.0f/s%n", k,
+                              treeNearest, setNearest);
+            System.out.printf("withinRadius    KdTree %10.0f/s   PointSET %8.0f/s%n",
+                              treeRadius, setRadius);
+        }
+
+        // powers of two below maxThreads, then maxThreads itself
+        for (int threads = 1; ; threads = Math.min(2 * threads, maxThreads)) {
+            double shared = timeConcurrent(tree::nearest, targets, threads, checksum);
+            double frozen = timeConcurrent(snapshot::nearest, targets, threads, checksum);
+            System.out.printf("nearest(p), %2d threads   KdTree %10.0f/s   snapshot %10.0f/s%n",
+                              threads, shared, frozen);
+            if (threads >= maxThreads) break;
+        }
+        System.out.println("checksum " + checksum[0]);
+    }
+}
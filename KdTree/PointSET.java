@@ -9,6 +9,8 @@ import edu.princeton.cs.algs4.RectHV;
 import edu.princeton.cs.algs4.StdDraw;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.TreeSet;
 
 public class PointSET {
@@ -76,6 +78,26 @@ public class PointSET {
         return targetPoint;
     }
 
+    // the k points in the set nearest to p, nearest first (all points if fewer than k)
+    public Iterable<Point2D> nearest(Point2D p, int k) {
+        if (p == null) throw new IllegalArgumentException("Cannot determine on a null point");
+        if (k < 0) throw new IllegalArgumentException("k should be non-negative");
+        List<Point2D> byDistance = new ArrayList<>(pointSets);
+        byDistance.sort(Comparator.comparingDouble(localP -> localP.distanceSquaredTo(p)));
+        return byDistance.subList(0, Math.min(k, byDistance.size()));
+    }
+
+    // all points at distance at most r from p
+    public Iterable<Point2D> withinRadius(Point2D p, double r) {
+        if (p == null) throw new IllegalArgumentException("Cannot determine on a null point");
+        if (!(r >= 0)) throw new IllegalArgumentException("Radius should be non-negative");
+        ArrayList<Point2D> subPointSets = new ArrayList<>();
+        for (Point2D localP : pointSets) {
+            if (localP.distanceSquaredTo(p) <= r * r) subPointSets.add(localP);
+        }
+        return subPointSets;
+    }
+
     public static void main(String[] args) {
         PointSET testPointSet = new PointSET();
         testPointSet.insert(new Point2D(0.0, 0.0));
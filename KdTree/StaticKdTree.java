@@ -0,0 +1,441 @@
+/* *****************************************************************************
+ *  Name: Mingxuan Wu
+ *  Date: 2026/10/18
+ *  Description: Immutable kd-tree built in bulk from a fixed set of points.
+ *               Every node splits at the median of its points (quickselect
+ *               with the two-way partition of Kth), so the tree is balanced
+ *               whatever the input order. Nodes are not objects: node i
+ *               has children 2i + 1 and 2i + 2 (the tree is complete and
+ *               left-balanced, so n points use exactly slots 0 .. n - 1),
+ *               its point's x and y sit side by side in one double[] and
+ *               its original index in an int[]. Searches carry the bounds
+ *               they need instead of reading a RectHV per node, so a query
+ *               touches a couple of adjacent doubles per visited node.
+ *               nearestAll answers a batch of queries given as coordinate
+ *               arrays: sorted into Morton (Z-curve) order, so consecutive
+ *               queries are close together and walk the same nodes, and
+ *               split over the common fork-join pool.
+ **************************************************************************** */
+
+import edu.princeton.cs.algs4.Point2D;
+import edu.princeton.cs.algs4.Queue;
+import edu.princeton.cs.algs4.RectHV;
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+public class StaticKdTree {
+    private static final int BATCH = 2048; // queries per fork-join leaf in nearestAll
+    private static final int GRID_BITS = 16; // Morton grid is 2^16 cells on each axis
+    private final int size;
+    private final double[] coords; // coords[2i], coords[2i + 1] = x, y of node i
+    private final int[] ids; // ids[i] = index of node i's point in the input
+
+    // nearest neighbor search state, one per query
+    private static class Nearest {
+        private int node = -1;
+        private double distanceSquared = Double.POSITIVE_INFINITY;
+    }
+
+    // build the tree over the points (xs[i], ys[i]); point i keeps index i
+    public StaticKdTree(double[] xs, double[] ys) {
+        if (xs == null || ys == null)
+            throw new IllegalArgumentException("Cannot build from null coordinates");
+        if (xs.length != ys.length)
+            throw new IllegalArgumentException("xs and ys should have the same length");
+        size = xs.length;
+        coords = new double[2 * size];
+        ids = new int[size];
+
+        // work arrays in random order, so that quickselect runs in linear expected time
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) order[i] = i;
+        StdRandom.shuffle(order);
+        double[] work = new double[2 * size];
+        int[] workIds = new int[size];
+        for (int i = 0; i < size; i++) {
+            work[2 * i] = xs[order[i]];
+            work[2 * i + 1] = ys[order[i]];
+            workIds[i] = order[i];
+        }
+        build(work, workIds, 0, size, 0, 0);
+    }
+
+    // build the tree over the given points; point i keeps index i
+    public StaticKdTree(Point2D[] points) {
+        this(xs(points), ys(points));
+    }
+
+    private static double[] xs(Point2D[] points) {
+        if (points == null) throw new IllegalArgumentException("Cannot build from null points");
+        double[] xs = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            if (points[i] == null) throw new IllegalArgumentException("Cannot insert a null point");
+            xs[i] = points[i].x();
+        }
+        return xs;
+    }
+
+    private static double[] ys(Point2D[] points) {
+        double[] ys = new double[points.length];
+        for (int i = 0; i < points.length; i++) ys[i] = points[i].y();
+        return ys;
+    }
+
+    // is the set empty?
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // number of points in the set
+    public int size() {
+        return size;
+    }
+
+    // number of nodes in the left subtree of a left-balanced tree with m nodes
+    private static int leftSize(int m) {
+        if (m <= 1) return 0;
+        int levels = 31 - Integer.numberOfLeadingZeros(m); // full levels below the root
+        int half = 1 << (levels - 1); // capacity of the left subtree's last level
+        int lastLevel = m - ((1 << levels) - 1); // nodes on the last level
+        return half - 1 + Math.min(lastLevel, half);
+    }
+
+    // place work[lo, hi) as the subtree rooted at node, splitting on x at even depths
+    private void build(double[] work, int[] workIds, int lo, int hi, int node, int axis) {
+        while (lo < hi) {
+            int median = lo + leftSize(hi - lo);
+            select(work, workIds, lo, hi - 1, median, axis);
+            coords[2 * node] = work[2 * median];
+            coords[2 * node + 1] = work[2 * median + 1];
+            ids[node] = workIds[median];
+            // recurse into the left half, loop on the right half
+            build(work, workIds, lo, median, 2 * node + 1, 1 - axis);
+            lo = median + 1;
+            node = 2 * node + 2;
+            axis = 1 - axis;
+        }
+    }
+
+    // rearrange work[lo .. hi] so that the point of rank k on axis is at k, no larger
+    // ones before it and no smaller ones after it
+    private static void select(double[] work, int[] workIds, int lo, int hi, int k, int axis) {
+        while (hi > lo) {
+            int j = partition(work, workIds, lo, hi, axis);
+            if (j < k) lo = j + 1;
+            else if (j > k) hi = j - 1;
+            else return;
+        }
+    }
+
+    // 2 way partition on axis around work[lo], as in Kth; stops on equal keys so runs of
+    // equal coordinates split evenly
+    private static int partition(double[] work, int[] workIds, int lo, int hi, int axis) {
+        double v = work[2 * lo + axis];
+        int i = lo;
+        int j = hi + 1;
+        while (true) {
+            while (work[2 * ++i + axis] < v) {
+                if (i == hi) break;
+            }
+            while (v < work[2 * --j + axis]) {
+                if (j == lo) break;
+            }
+            if (i >= j) break;
+            exchange(work, workIds, i, j);
+        }
+        exchange(work, workIds, lo, j);
+        return j;
+    }
+
+    private static void exchange(double[] work, int[] workIds, int i, int j) {
+        double x = work[2 * i];
+        double y = work[2 * i + 1];
+        work[2 * i] = work[2 * j];
+        work[2 * i + 1] = work[2 * j + 1];
+        work[2 * j] = x;
+        work[2 * j + 1] = y;
+        int id = workIds[i];
+        workIds[i] = workIds[j];
+        workIds[j] = id;
+    }
+
+    private Point2D point(int node) {
+        return new Point2D(coords[2 * node], coords[2 * node + 1]);
+    }
+
+    // does the set contain point p?
+    public boolean contains(Point2D p) {
+        if (p == null) throw new IllegalArgumentException("cannot try to find a null point");
+        return contains(0, 0, p.x(), p.y());
+    }
+
+    // private helper function in find; points equal to a split on its axis can be on
+    // either side, so both are searched then
+    private boolean contains(int node, int axis, double x, double y) {
+        while (node < size) {
+            if (coords[2 * node] == x && coords[2 * node + 1] == y) return true;
+            double split = coords[2 * node + axis];
+            double q = axis == 0 ? x : y;
+            if (q < split) node = 2 * node + 1;
+            else if (q > split) node = 2 * node + 2;
+            else {
+                if (contains(2 * node + 1, 1 - axis, x, y)) return true;
+                node = 2 * node + 2;
+            }
+            axis = 1 - axis;
+        }
+        return false;
+    }
+
+    // all points that are inside the rectangle (or on the boundary)
+    public Iterable<Point2D> range(RectHV rect) {
+        if (rect == null)
+            throw new IllegalArgumentException("cannot implement range search on a null rectangle");
+        Queue<Point2D> queue = new Queue<>();
+        range(0, 0, rect, queue);
+        return queue;
+    }
+
+    // private helper function used in range search: the left subtree holds coordinates
+    // <= the split on axis, the right subtree coordinates >= it
+    private void range(int node, int axis, RectHV rect, Queue<Point2D> queue) {
+        while (node < size) {
+            double x = coords[2 * node];
+            double y = coords[2 * node + 1];
+            if (x >= rect.xmin() && x <= rect.xmax() && y >= rect.ymin() && y <= rect.ymax())
+                queue.enqueue(new Point2D(x, y));
+            double split = axis == 0 ? x : y;
+            double min = axis == 0 ? rect.xmin() : rect.ymin();
+            double max = axis == 0 ? rect.xmax() : rect.ymax();
+            boolean left = min <= split;
+            boolean right = max >= split;
+            if (left && right) range(2 * node + 1, 1 - axis, rect, queue);
+            node = right ? 2 * node + 2 : left ? 2 * node + 1 : size;
+            axis = 1 - axis;
+        }
+    }
+
+    // a nearest neighbor in the set to point p; null if the set is empty
+    public Point2D nearest(Point2D p) {
+        if (p == null)
+            throw new IllegalArgumentException("cannot find nearest point for null point");
+        if (isEmpty()) return null;
+        Nearest best = new Nearest();
+        nearest(0, 0, p.x(), p.y(), best);
+        return point(best.node);
+    }
+
+    // index (in the input) of a nearest neighbor to (x, y); -1 if the set is empty
+    public int nearestIndex(double x, double y) {
+        if (isEmpty()) return -1;
+        Nearest best = new Nearest();
+        nearest(0, 0, x, y, best);
+        return ids[best.node];
+    }
+
+    // indices (in the input) of a nearest neighbor to each query (xs[i], ys[i]);
+    // all -1 if the set is empty
+    public int[] nearestAll(double[] xs, double[] ys) {
+        if (xs == null || ys == null)
+            throw new IllegalArgumentException("Cannot query null coordinates");
+        if (xs.length != ys.length)
+            throw new IllegalArgumentException("xs and ys should have the same length");
+        int[] result = new int[xs.length];
+        if (isEmpty()) {
+            Arrays.fill(result, -1);
+            return result;
+        }
+        if (xs.length == 0) return result;
+        long[] order = mortonOrder(xs, ys);
+        new NearestTask(xs, ys, order, result, 0, order.length).invoke();
+        return result;
+    }
+
+    // the query indices sorted by Morton code of their cell in a grid over the queries'
+    // bounding box: key = code << 31 | index, so one sort of longs does it
+    private static long[] mortonOrder(double[] xs, double[] ys) {
+        double xmin = Double.POSITIVE_INFINITY;
+        double ymin = Double.POSITIVE_INFINITY;
+        double xmax = Double.NEGATIVE_INFINITY;
+        double ymax = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < xs.length; i++) {
+            if (Double.isNaN(xs[i]) || Double.isNaN(ys[i]))
+                throw new IllegalArgumentException("Cannot query a NaN coordinate");
+            xmin = Math.min(xmin, xs[i]);
+            xmax = Math.max(xmax, xs[i]);
+            ymin = Math.min(ymin, ys[i]);
+            ymax = Math.max(ymax, ys[i]);
+        }
+        int cells = (1 << GRID_BITS) - 1;
+        double xscale = xmax > xmin ? cells / (xmax - xmin) : 0;
+        double yscale = ymax > ymin ? cells / (ymax - ymin) : 0;
+        long[] order = new long[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            long code = spread((int) ((xs[i] - xmin) * xscale))
+                    | spread((int) ((ys[i] - ymin) * yscale)) << 1;
+            order[i] = code << 31 | i;
+        }
+        Arrays.parallelSort(order);
+        return order;
+    }
+
+    // the low GRID_BITS bits of v moved to the even bit positions
+    private static long spread(int v) {
+        long z = v & ((1 << GRID_BITS) - 1);
+        z = (z | z << 8) & 0x00FF00FFL;
+        z = (z | z << 4) & 0x0F0F0F0FL;
+        z = (z | z << 2) & 0x33333333L;
+        z = (z | z << 1) & 0x55555555L;
+        return z;
+    }
+
+    // Fork-join task answering the queries order[lo, hi)
+    private class NearestTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final double[] xs;
+        private final double[] ys;
+        private final long[] order;
+        private final int[] result;
+        private final int lo;
+        private final int hi;
+
+        NearestTask(double[] xs, double[] ys, long[] order, int[] result, int lo, int hi) {
+            this.xs = xs;
+            this.ys = ys;
+            this.order = order;
+            this.result = result;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        protected void compute() {
+            if (hi - lo > BATCH) {
+                int mid = lo + (hi - lo) / 2;
+                invokeAll(new NearestTask(xs, ys, order, result, lo, mid),
+                          new NearestTask(xs, ys, order, result, mid, hi));
+                return;
+            }
+            // each query starts with the previous answer as its best, which is usually
+            // close since the queries are in Morton order, so the search prunes from the start
+            Nearest best = new Nearest();
+            int previous = 0;
+            for (int i = lo; i < hi; i++) {
+                int query = (int) (order[i] & Integer.MAX_VALUE);
+                double x = xs[query];
+                double y = ys[query];
+                double dx = coords[2 * previous] - x;
+                double dy = coords[2 * previous + 1] - y;
+                best.node = previous;
+                best.distanceSquared = dx * dx + dy * dy;
+                nearest(0, 0, x, y, best);
+                result[query] = ids[best.node];
+                previous = best.node;
+            }
+        }
+    }
+
+    // helper function to find nearest neighbor: the side of the split holding (x, y) is
+    // searched first, the other only if the split line is closer than the best so far
+    private void nearest(int node, int axis, double x, double y, Nearest best) {
+        if (node >= size) return;
+        double dx = coords[2 * node] - x;
+        double dy = coords[2 * node + 1] - y;
+        double distanceSquared = dx * dx + dy * dy;
+        if (distanceSquared < best.distanceSquared) {
+            best.distanceSquared = distanceSquared;
+            best.node = node;
+        }
+        double offset = axis == 0 ? x - coords[2 * node] : y - coords[2 * node + 1];
+        int near = offset < 0 ? 2 * node + 1 : 2 * node + 2;
+        int far = offset < 0 ? 2 * node + 2 : 2 * node + 1;
+        nearest(near, 1 - axis, x, y, best);
+        if (offset * offset < best.distanceSquared) nearest(far, 1 - axis, x, y, best);
+    }
+
+    // usage: StaticKdTree n queries
+    // builds a KdTree by insertion and a StaticKdTree in bulk over n random points,
+    // checks that they agree and times nearest and range queries on both
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 1000000;
+        StdRandom.setSeed(2020);
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = StdRandom.uniform();
+            ys[i] = StdRandom.uniform();
+        }
+        Point2D[] targets = new Point2D[queries];
+        for (int i = 0; i < queries; i++)
+            targets[i] = new Point2D(StdRandom.uniform(), StdRandom.uniform());
+
+        long start = System.nanoTime();
+        KdTree tree = new KdTree();
+        for (int i = 0; i < n; i++) tree.insert(new Point2D(xs[i], ys[i]));
+        double treeBuild = (System.nanoTime() - start) / 1e9;
+        start = System.nanoTime();
+        StaticKdTree bulk = new StaticKdTree(xs, ys);
+        double bulkBuild = (System.nanoTime() - start) / 1e9;
+        System.out.printf("build     KdTree %.2f s   StaticKdTree %.2f s%n", treeBuild, bulkBuild);
+
+        int mismatches = 0;
+        for (int i = 0; i < Math.min(queries, 10000); i++) {
+            Point2D p = targets[i];
+            if (tree.nearest(p).distanceSquaredTo(p) != bulk.nearest(p).distanceSquaredTo(p))
+                mismatches++;
+            double side = 0.01 * StdRandom.uniform();
+            RectHV rect = new RectHV(p.x() * 0.99, p.y() * 0.99, p.x() * 0.99 + side,
+                                     p.y() * 0.99 + side);
+            if (count(tree.range(rect)) != count(bulk.range(rect))) mismatches++;
+            if (!bulk.contains(new Point2D(xs[i % n], ys[i % n]))) mismatches++;
+        }
+        System.out.println("mismatches " + mismatches);
+
+        for (int round = 0; round < 3; round++) {
+            double checksum = 0;
+            start = System.nanoTime();
+            for (Point2D p : targets) checksum += tree.nearest(p).x();
+            double treeQuery = (System.nanoTime() - start) / 1e9;
+            start = System.nanoTime();
+            for (Point2D p : targets) checksum -= bulk.nearest(p).x();
+            double bulkQuery = (System.nanoTime() - start) / 1e9;
+            System.out.printf("nearest   KdTree %.0f/s   StaticKdTree %.0f/s   (checksum %g)%n",
+                              queries / treeQuery, queries / bulkQuery, checksum);
+        }
+
+        double[] qx = new double[queries];
+        double[] qy = new double[queries];
+        for (int i = 0; i < queries; i++) {
+            qx[i] = targets[i].x();
+            qy[i] = targets[i].y();
+        }
+        for (int round = 0; round < 3; round++) {
+            start = System.nanoTime();
+            int[] one = new int[queries];
+            for (int i = 0; i < queries; i++) one[i] = bulk.nearestIndex(qx[i], qy[i]);
+            double oneQuery = (System.nanoTime() - start) / 1e9;
+            start = System.nanoTime();
+            int[] all = bulk.nearestAll(qx, qy);
+            double allQuery = (System.nanoTime() - start) / 1e9;
+            mismatches = 0;
+            for (int i = 0; i < queries; i++) {
+                double a = (xs[one[i]] - qx[i]) * (xs[one[i]] - qx[i])
+                        + (ys[one[i]] - qy[i]) * (ys[one[i]] - qy[i]);
+                double b = (xs[all[i]] - qx[i]) * (xs[all[i]] - qx[i])
+                        + (ys[all[i]] - qy[i]) * (ys[all[i]] - qy[i]);
+                if (a != b) mismatches++;
+            }
+            System.out.printf("batch     nearestIndex %.0f/s   nearestAll %.0f/s"
+                                      + "   (%d mismatches)%n",
+                              queries / oneQuery, queries / allQuery, mismatches);
+        }
+    }
+
+    private static int count(Iterable<Point2D> points) {
+        int count = 0;
+        for (Point2D p : points) count++;
+        return count;
+    }
+}
@@ -0,0 +1,353 @@
+/* *****************************************************************************
+ *  Name:              Mingxuan Wu
+ *  Coursera User ID:  Mingxuan Wu
+ *  Last modified:     10/18/2026
+ *  Description:       Percolation where sites can be closed again.
+ *                     Opens and closes are logged; percolationHistory()
+ *                     answers percolates() after every logged operation in
+ *                     one offline pass: each connection (two adjacent open
+ *                     sites, or an open site and the virtual top / bottom)
+ *                     is alive over an interval of operations, intervals are
+ *                     stored on a segment tree over time, and a DFS of the
+ *                     tree unions on the way down and rolls back on the way
+ *                     up. m operations take O(m log m log n) time in total.
+ *                     Until the first close, an ordinary Percolation is kept
+ *                     up to date alongside the log, so percolates() costs
+ *                     O(log n) amortized per open. Once sites have been
+ *                     closed the class is offline only: percolates() refuses
+ *                     and percolationHistory() answers every query at once.
+ **************************************************************************** */
+
+import java.util.Arrays;
+
+public class DynamicPercolation {
+    private static final int MAX_N = 46340; // largest n with n * n in int range
+    private final int n;
+    private final boolean[] open; // current state of each site
+    private int[] log; // logged operations: site index, negated - 1 for a close
+    private int operations; // number of logged operations
+    private int openSites;
+    private boolean[] history; // cached answer of percolationHistory(), null if stale
+    private Percolation incremental; // current grid while only opens are logged, else null
+
+    // creates n-by-n grid, with all sites initially blocked
+    public DynamicPercolation(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n should be larger than 0");
+        }
+        if (n > MAX_N) {
+            throw new IllegalArgumentException("n should be at most " + MAX_N);
+        }
+        this.n = n;
+        open = new boolean[n * n];
+        log = new int[16];
+        incremental = new Percolation(n);
+    }
+
+    // Helper function to map (row, col) to the site index
+    private int mapRowColToIndex(int row, int col) {
+        return (row - 1) * n + col - 1;
+    }
+
+    // is (row, col) a valid input?
+    // note: row, col starts from 1!!!
+    private boolean isValid(int row, int col) {
+        return row >= 1 && row <= n && col >= 1 && col <= n;
+    }
+
+    private void append(int entry) {
+        if (operations == log.length) log = Arrays.copyOf(log, 2 * log.length);
+        log[operations++] = entry;
+        history = null;
+    }
+
+    // opens the site (row, col) if it is not open already
+    public void open(int row, int col) {
+        if (!isValid(row, col)) {
+            throw new IllegalArgumentException("row or col has been out of boundary");
+        }
+        int site = mapRowColToIndex(row, col);
+        if (!open[site]) openSites++;
+        open[site] = true;
+        append(site);
+        if (incremental != null) incremental.open(row, col);
+    }
+
+    // closes the site (row, col) if it is not closed already
+    public void close(int row, int col) {
+        if (!isValid(row, col)) {
+            throw new IllegalArgumentException("row or col has been out of boundary");
+        }
+        int site = mapRowColToIndex(row, col);
+        if (open[site]) openSites--;
+        open[site] = false;
+        append(-site - 1);
+        incremental = null; // union-find can't undo, so from here on only solve the log
+    }
+
+    // is the site (row, col) open?
+    public boolean isOpen(int row, int col) {
+        if (!isValid(row, col)) {
+            throw new IllegalArgumentException("row or col has been out of boundary");
+        }
+        return open[mapRowColToIndex(row, col)];
+    }
+
+    // returns the number of open sites
+    public int numberOfOpenSites() {
+        return openSites;
+    }
+
+    // number of opens and closes logged so far
+    public int numberOfOperations() {
+        return operations;
+    }
+
+    // does the system percolate now?
+    // only answered online while no site has been closed; after the first close, log the
+    // operations and read the answers from percolationHistory() instead
+    public boolean percolates() {
+        if (incremental == null) {
+            throw new IllegalStateException("sites were closed, use percolationHistory()");
+        }
+        return incremental.percolates();
+    }
+
+    // percolates() right after each logged operation, in order
+    public boolean[] percolationHistory() {
+        if (history == null) history = solveLog();
+        return history.clone();
+    }
+
+    private boolean[] solveLog() {
+        int total = n * n;
+        OfflineConnectivity timeline = new OfflineConnectivity(total + 2, operations);
+        int[] openedAt = new int[total]; // time the site was opened, -1 if blocked
+        int[] linkedAt = new int[2 * total]; // time edge site-right / site-down appeared
+        Arrays.fill(openedAt, -1);
+
+        for (int t = 0; t < operations; t++) {
+            int entry = log[t];
+            if (entry >= 0 && openedAt[entry] < 0) {
+                openedAt[entry] = t;
+                int row = entry / n;
+                int col = entry % n;
+                if (row > 0 && openedAt[entry - n] >= 0) linkedAt[2 * (entry - n) + 1] = t;
+                if (row < n - 1 && openedAt[entry + n] >= 0) linkedAt[2 * entry + 1] = t;
+                if (col > 0 && openedAt[entry - 1] >= 0) linkedAt[2 * (entry - 1)] = t;
+                if (col < n - 1 && openedAt[entry + 1] >= 0) linkedAt[2 * entry] = t;
+            }
+            else if (entry < 0 && openedAt[-entry - 1] >= 0) {
+                retire(timeline, -entry - 1, t, openedAt, linkedAt);
+            }
+        }
+        // whatever is still open stays alive up to the last operation
+        for (int site = 0; site < total; site++) {
+            if (openedAt[site] >= 0) retire(timeline, site, operations, openedAt, linkedAt);
+        }
+        return timeline.connectedOverTime(total, total + 1);
+    }
+
+    // closes site at time t: every connection it still has ends at t
+    private void retire(OfflineConnectivity timeline, int site, int t, int[] openedAt,
+                        int[] linkedAt) {
+        int row = site / n;
+        int col = site % n;
+        int top = n * n;
+        int bottom = n * n + 1;
+        if (row > 0 && openedAt[site - n] >= 0) {
+            timeline.addEdge(linkedAt[2 * (site - n) + 1], t, site, site - n);
+        }
+        if (row < n - 1 && openedAt[site + n] >= 0) {
+            timeline.addEdge(linkedAt[2 * site + 1], t, site, site + n);
+        }
+        if (col > 0 && openedAt[site - 1] >= 0) {
+            timeline.addEdge(linkedAt[2 * (site - 1)], t, site, site - 1);
+        }
+        if (col < n - 1 && openedAt[site + 1] >= 0) {
+            timeline.addEdge(linkedAt[2 * site], t, site, site + 1);
+        }
+        if (row == 0) timeline.addEdge(openedAt[site], t, site, top);
+        if (row == n - 1) timeline.addEdge(openedAt[site], t, site, bottom);
+        openedAt[site] = -1;
+    }
+
+    // for each site of the given grid (openSites[row - 1][col - 1] is true if open):
+    // would the grid still percolate if that site were closed?
+    // blocked sites get the answer for the grid as it is
+    // runs in O(k log k log n) for k open sites, instead of k full rebuilds
+    public static boolean[][] percolatesWithout(boolean[][] openSites) {
+        if (openSites == null || openSites.length == 0) {
+            throw new IllegalArgumentException("openSites should be a non-empty n-by-n array");
+        }
+        int n = openSites.length;
+        for (boolean[] line : openSites) {
+            if (line == null || line.length != n) {
+                throw new IllegalArgumentException("openSites should be an n-by-n array");
+            }
+        }
+
+        // query k removes the k-th open site (raster order); query k = count keeps them all
+        int[] slot = new int[n * n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                slot[i * n + j] = openSites[i][j] ? count++ : -1;
+            }
+        }
+        int top = n * n;
+        int bottom = n * n + 1;
+        OfflineConnectivity timeline = new OfflineConnectivity(n * n + 2, count + 1);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                int site = i * n + j;
+                if (slot[site] < 0) continue;
+                if (i > 0 && slot[site - n] >= 0) {
+                    addAliveExcept(timeline, count + 1, slot[site - n], slot[site], site,
+                                   site - n);
+                }
+                if (j > 0 && slot[site - 1] >= 0) {
+                    addAliveExcept(timeline, count + 1, slot[site - 1], slot[site], site,
+                                   site - 1);
+                }
+                if (i == 0) addAliveExcept(timeline, count + 1, slot[site], slot[site], site, top);
+                if (i == n - 1) {
+                    addAliveExcept(timeline, count + 1, slot[site], slot[site], site, bottom);
+                }
+            }
+        }
+
+        boolean[] answers = timeline.connectedOverTime(top, bottom);
+        boolean[][] result = new boolean[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                int k = slot[i * n + j];
+                result[i][j] = answers[k < 0 ? count : k];
+            }
+        }
+        return result;
+    }
+
+    // edge u-v alive at every time in [0, times) except a and b (a <= b)
+    private static void addAliveExcept(OfflineConnectivity timeline, int times, int a, int b,
+                                       int u, int v) {
+        timeline.addEdge(0, a, u, v);
+        timeline.addEdge(a + 1, b, u, v);
+        timeline.addEdge(b + 1, times, u, v);
+    }
+
+    // Edges alive over intervals of time, stored on a segment tree over [0, times);
+    // a DFS with a rollback union-find (union by size, no path compression) answers
+    // connectivity of two vertices at every time
+    private static class OfflineConnectivity {
+        private final int times;
+        private final int[][] edges; // per tree node: u0, v0, u1, v1, ...
+        private final int[] edgeCount; // per tree node: number of ints used in edges[]
+        private final int[] parent;
+        private final int[] size;
+        private final int[] undo; // roots linked under another root, in order
+        private int undoSize;
+
+        OfflineConnectivity(int vertices, int times) {
+            this.times = times;
+            edges = new int[4 * Math.max(times, 1)][];
+            edgeCount = new int[edges.length];
+            parent = new int[vertices];
+            size = new int[vertices];
+            undo = new int[vertices];
+            for (int i = 0; i < vertices; i++) {
+                parent[i] = i;
+                size[i] = 1;
+            }
+        }
+
+        // edge u-v is alive at times [lo, hi)
+        void addEdge(int lo, int hi, int u, int v) {
+            if (lo < hi) addEdge(1, 0, times, lo, hi, u, v);
+        }
+
+        private void addEdge(int node, int nodeLo, int nodeHi, int lo, int hi, int u, int v) {
+            if (lo <= nodeLo && nodeHi <= hi) {
+                if (edges[node] == null) edges[node] = new int[4];
+                else if (edgeCount[node] == edges[node].length) {
+                    edges[node] = Arrays.copyOf(edges[node], 2 * edges[node].length);
+                }
+                edges[node][edgeCount[node]++] = u;
+                edges[node][edgeCount[node]++] = v;
+                return;
+            }
+            int mid = (nodeLo + nodeHi) >>> 1;
+            if (lo < mid) addEdge(2 * node, nodeLo, mid, lo, hi, u, v);
+            if (hi > mid) addEdge(2 * node + 1, mid, nodeHi, lo, hi, u, v);
+        }
+
+        private int find(int p) {
+            while (parent[p] != p) p = parent[p];
+            return p;
+        }
+
+        private void union(int p, int q) {
+            int rootP = find(p);
+            int rootQ = find(q);
+            if (rootP == rootQ) return;
+            if (size[rootP] < size[rootQ]) {
+                int temp = rootP;
+                rootP = rootQ;
+                rootQ = temp;
+            }
+            parent[rootQ] = rootP;
+            size[rootP] += size[rootQ];
+            undo[undoSize++] = rootQ;
+        }
+
+        private void rollback(int mark) {
+            while (undoSize > mark) {
+                int child = undo[--undoSize];
+                size[parent[child]] -= size[child];
+                parent[child] = child;
+            }
+        }
+
+        // is s connected to t at each time?
+        boolean[] connectedOverTime(int s, int t) {
+            boolean[] answers = new boolean[times];
+            if (times > 0) solve(1, 0, times, s, t, answers);
+            return answers;
+        }
+
+        private void solve(int node, int nodeLo, int nodeHi, int s, int t, boolean[] answers) {
+            int mark = undoSize;
+            for (int i = 0; i < edgeCount[node]; i += 2) {
+                union(edges[node][i], edges[node][i + 1]);
+            }
+            if (nodeHi - nodeLo == 1) {
+                answers[nodeLo] = find(s) == find(t);
+            }
+            else if (find(s) == find(t)) {
+                // every edge below only adds connections, so the whole range agrees
+                Arrays.fill(answers, nodeLo, nodeHi, true);
+            }
+            else {
+                int mid = (nodeLo + nodeHi) >>> 1;
+                solve(2 * node, nodeLo, mid, s, t, answers);
+                solve(2 * node + 1, mid, nodeHi, s, t, answers);
+            }
+            rollback(mark);
+        }
+    }
+
+    // test client (optional)
+    public static void main(String[] args) {
+        DynamicPercolation testPercolation = new DynamicPercolation(3);
+        testPercolation.open(1, 2);
+        testPercolation.open(2, 2);
+        testPercolation.open(3, 2);
+        testPercolation.close(2, 2);
+        testPercolation.open(2, 1);
+        testPercolation.open(1, 1);
+        testPercolation.open(3, 1);
+        System.out.println(Arrays.toString(testPercolation.percolationHistory()));
+        boolean[][] grid = { { true, true, false }, { false, true, true }, { false, true, false } };
+        System.out.println(Arrays.deepToString(percolatesWithout(grid)));
+    }
+}
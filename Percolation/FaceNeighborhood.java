@@ -0,0 +1,67 @@
+/* *****************************************************************************
+ *  Name:              Mingxuan Wu
+ *  Coursera User ID:  Mingxuan Wu
+ *  Last modified:     10/18/2026
+ *  Description:       Face (von Neumann) neighbors on a row-major lattice of
+ *                     any dimension: two per axis, optionally wrapping around
+ *                     (periodic boundary) on chosen axes.
+ **************************************************************************** */
+
+public class FaceNeighborhood implements LatticeNeighborhood {
+    private final int[] dims; // side length along each axis, axis 0 varies slowest
+    private final int[] strides; // index distance between neighbors along each axis
+    private final boolean[] periodic; // does the axis wrap around?
+
+    // face neighbors, periodic along every axis but axis 0 if periodicSides
+    // (axis 0 is the direction LatticePercolation percolates in)
+    public FaceNeighborhood(int[] dims, boolean periodicSides) {
+        this(dims, sidesOnly(dims, periodicSides));
+    }
+
+    // face neighbors, axis a wraps around iff periodic[a]
+    public FaceNeighborhood(int[] dims, boolean[] periodic) {
+        if (dims == null || periodic == null || dims.length != periodic.length) {
+            throw new IllegalArgumentException("dims and periodic should have the same length");
+        }
+        this.dims = dims.clone();
+        this.periodic = periodic.clone();
+        strides = new int[dims.length];
+        int stride = 1;
+        for (int a = dims.length - 1; a >= 0; a--) {
+            if (dims[a] <= 0) throw new IllegalArgumentException("dims should be positive");
+            strides[a] = stride;
+            stride *= dims[a];
+        }
+    }
+
+    // periodic flags: every axis but axis 0
+    private static boolean[] sidesOnly(int[] dims, boolean periodicSides) {
+        if (dims == null) throw new IllegalArgumentException("dims should not be null");
+        boolean[] periodic = new boolean[dims.length];
+        for (int a = 1; a < dims.length; a++) periodic[a] = periodicSides;
+        return periodic;
+    }
+
+    public int[] dimensions() {
+        return dims.clone();
+    }
+
+    public int maxDegree() {
+        return 2 * dims.length;
+    }
+
+    public int neighbors(int site, int[] out) {
+        int count = 0;
+        for (int a = 0; a < dims.length; a++) {
+            int side = dims[a];
+            if (side == 1) continue;
+            int stride = strides[a];
+            int c = (site / stride) % side;
+            if (c > 0) out[count++] = site - stride;
+            else if (periodic[a]) out[count++] = site + (side - 1) * stride;
+            if (c < side - 1) out[count++] = site + stride;
+            else if (periodic[a]) out[count++] = site - (side - 1) * stride;
+        }
+        return count;
+    }
+}
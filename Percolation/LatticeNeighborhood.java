@@ -0,0 +1,19 @@
+/* *****************************************************************************
+ *  Name:              Mingxuan Wu
+ *  Coursera User ID:  Mingxuan Wu
+ *  Last modified:     10/18/2026
+ *  Description:       Neighbor rule for LatticePercolation. Implementations
+ *                     write into a caller-owned buffer so that no array is
+ *                     allocated per call.
+ **************************************************************************** */
+
+public interface LatticeNeighborhood {
+    // side lengths of the lattice the rule was built for, axis 0 first
+    int[] dimensions();
+
+    // the largest number of neighbors any site can have (size of the buffer)
+    int maxDegree();
+
+    // writes the neighbors of site into out[0..k-1] and returns k
+    int neighbors(int site, int[] out);
+}
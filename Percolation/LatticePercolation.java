@@ -0,0 +1,145 @@
+/* *****************************************************************************
+ *  Name:              Mingxuan Wu
+ *  Coursera User ID:  Mingxuan Wu
+ *  Last modified:     10/18/2026
+ *  Description:       Site percolation on a rectangular lattice of any
+ *                     dimension (L x W, L x W x H, ...) with a pluggable
+ *                     neighbor rule, e.g. periodic (torus) boundaries.
+ *                     Sites are row-major indices in [0, size()); the system
+ *                     percolates along axis 0, from the layer with
+ *                     coordinate 0 (top) to the last layer (bottom).
+ **************************************************************************** */
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+public class LatticePercolation {
+    private static final int TOP_AND_BOTTOM = SiteUnionFind.TOP | SiteUnionFind.BOTTOM;
+    private final SiteUnionFind sites; // open status and connect status for each site
+    private final LatticeNeighborhood neighborhood;
+    private final int[] dims;
+    private final int total; // number of sites
+    private final int layer; // number of sites in one layer across axis 0
+    private final int[] buffer; // neighbor buffer reused by every open
+    private int openSites;
+    private boolean percolates;
+
+    // lattice with face neighbors, periodic across the sides (not along axis 0) if asked
+    public LatticePercolation(int[] dims, boolean periodicSides) {
+        this(dims, new FaceNeighborhood(dims, periodicSides));
+    }
+
+    // lattice with the given neighbor rule, with all sites initially blocked
+    public LatticePercolation(int[] dims, LatticeNeighborhood neighborhood) {
+        if (dims == null || dims.length == 0 || neighborhood == null) {
+            throw new IllegalArgumentException("dims and neighborhood should not be empty");
+        }
+        long count = 1;
+        for (int side : dims) {
+            if (side <= 0) throw new IllegalArgumentException("dims should be positive");
+            count *= side;
+            if (count > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("lattice has too many sites");
+            }
+        }
+        if (!Arrays.equals(dims, neighborhood.dimensions())) {
+            throw new IllegalArgumentException("neighborhood was built for other dims");
+        }
+        this.dims = dims.clone();
+        this.neighborhood = neighborhood;
+        total = (int) count;
+        layer = total / dims[0];
+        sites = new SiteUnionFind(total);
+        buffer = new int[neighborhood.maxDegree()];
+    }
+
+    // index of (x, y) on a 2D lattice, 0-based
+    public int index(int x, int y) {
+        if (dims.length != 2) throw new IllegalArgumentException("lattice is not 2D");
+        validate(0, x);
+        validate(1, y);
+        return x * dims[1] + y;
+    }
+
+    // index of (x, y, z) on a 3D lattice, 0-based
+    public int index(int x, int y, int z) {
+        if (dims.length != 3) throw new IllegalArgumentException("lattice is not 3D");
+        validate(0, x);
+        validate(1, y);
+        validate(2, z);
+        return (x * dims[1] + y) * dims[2] + z;
+    }
+
+    private void validate(int axis, int coordinate) {
+        if (coordinate < 0 || coordinate >= dims[axis]) {
+            throw new IllegalArgumentException("coordinate has been out of boundary");
+        }
+    }
+
+    // number of sites
+    public int size() {
+        return total;
+    }
+
+    private void validate(int site) {
+        if (site < 0 || site >= total) {
+            throw new IllegalArgumentException("site has been out of boundary");
+        }
+    }
+
+    // opens the site if it is not open already
+    public void open(int site) {
+        validate(site);
+        if (sites.isOpen(site)) return;
+        sites.open(site);
+
+        int degree = neighborhood.neighbors(site, buffer);
+        for (int i = 0; i < degree; i++) {
+            if (sites.isOpen(buffer[i])) sites.union(site, buffer[i]);
+        }
+
+        int bits = 0;
+        if (site < layer) bits |= SiteUnionFind.TOP;
+        if (site >= total - layer) bits |= SiteUnionFind.BOTTOM;
+        if (sites.mark(site, bits) == TOP_AND_BOTTOM) percolates = true;
+        openSites++;
+    }
+
+    // is the site open?
+    public boolean isOpen(int site) {
+        validate(site);
+        return sites.isOpen(site);
+    }
+
+    // is the site connected to the top layer through open sites?
+    public boolean isFull(int site) {
+        validate(site);
+        return sites.isOpen(site) && (sites.componentStatus(site) & SiteUnionFind.TOP) != 0;
+    }
+
+    // returns the number of open sites
+    public int numberOfOpenSites() {
+        return openSites;
+    }
+
+    // does the system percolate?
+    public boolean percolates() {
+        return percolates;
+    }
+
+    // test client: open random sites on an L x W x H torus-sided lattice until it percolates
+    public static void main(String[] args) {
+        int[] dims = { 20, 20, 20 };
+        if (args.length > 0) {
+            dims = new int[args.length];
+            for (int i = 0; i < args.length; i++) dims[i] = Integer.parseInt(args[i]);
+        }
+        LatticePercolation lattice = new LatticePercolation(dims, true);
+        SplittableRandom random = new SplittableRandom(1);
+        while (!lattice.percolates()) {
+            lattice.open(random.nextInt(lattice.size()));
+        }
+        System.out.printf("threshold estimate = %f%n",
+                          (double) lattice.numberOfOpenSites() / lattice.size());
+    }
+}
@@ -0,0 +1,294 @@
+/* *****************************************************************************
+ *  Name:              Mingxuan Wu
+ *  Coursera User ID:  Mingxuan Wu
+ *  Last modified:     10/18/2026
+ *  Description:       Percolation backed by a memory-mapped file instead of
+ *                     the heap, for grids too large for int[] union-find
+ *                     (n >= 50,000 means more than 2^31 sites).
+ *                     File layout, all longs:
+ *                       header  magic, n, open sites, state bits
+ *                       bitset  one bit per site, set if the site is open
+ *                       forest  one long per site: v > 0 is parent v - 1,
+ *                               v <= 0 is a root holding
+ *                               -(((size - 1) << 2) | TOP | BOTTOM)
+ *                     so a freshly extended (all zero) file is n * n blocked
+ *                     singletons. checkpoint() flushes the bitset and forest,
+ *                     then the clean header; opening an existing file resumes
+ *                     from it, rebuilding the forest from the bitset if the
+ *                     run stopped between checkpoints.
+ **************************************************************************** */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+public class MappedPercolation implements Closeable {
+    private static final long MAGIC = 0x5045524331L; // "PERC1"
+    private static final int HEADER_LONGS = 4;
+    private static final int CHUNK_SHIFT = 27; // 2^27 longs = 1 GiB per mapping
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+    private static final long TOP = 1;
+    private static final long BOTTOM = 2;
+    private static final long PERCOLATES = 1; // state bit: the system percolates
+    private static final long DIRTY = 2; // state bit: modified since the last checkpoint
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final int n;
+    private final long total; // n * n
+    private final long bitsetStart; // first long of the bitset
+    private final long forestStart; // first long of the forest
+    private long openSites;
+    private boolean percolates;
+    private boolean dirty;
+
+    // opens the grid stored in file, or creates an n-by-n grid there with all sites blocked
+    public MappedPercolation(int n, Path file) throws IOException {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n should be larger than 0");
+        }
+        if (file == null) {
+            throw new IllegalArgumentException("file should not be null");
+        }
+        this.n = n;
+        total = (long) n * n;
+        bitsetStart = HEADER_LONGS;
+        forestStart = bitsetStart + (total + 63) / 64;
+        long longs = forestStart + total;
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                   StandardOpenOption.WRITE);
+        long existing = channel.size();
+        if (existing != 0 && existing != longs * Long.BYTES) {
+            channel.close();
+            throw new IllegalArgumentException("file does not hold an n-by-n grid");
+        }
+        chunks = new MappedByteBuffer[(int) ((longs + CHUNK_MASK) >>> CHUNK_SHIFT)];
+        for (int i = 0; i < chunks.length; i++) {
+            long first = (long) i << CHUNK_SHIFT;
+            long count = Math.min(longs - first, 1L << CHUNK_SHIFT);
+            chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, first * Long.BYTES,
+                                    count * Long.BYTES);
+        }
+
+        if (existing == 0) {
+            put(0, MAGIC);
+            put(1, n);
+            checkpoint();
+        }
+        else {
+            if (get(0) != MAGIC || get(1) != n) {
+                channel.close();
+                throw new IllegalArgumentException("file does not hold an n-by-n grid");
+            }
+            openSites = get(2);
+            percolates = (get(3) & PERCOLATES) != 0;
+            if ((get(3) & DIRTY) != 0) {
+                rebuild();
+                checkpoint();
+            }
+        }
+    }
+
+    private long get(long i) {
+        return chunks[(int) (i >>> CHUNK_SHIFT)].getLong((int) (i & CHUNK_MASK) * Long.BYTES);
+    }
+
+    private void put(long i, long value) {
+        chunks[(int) (i >>> CHUNK_SHIFT)].putLong((int) (i & CHUNK_MASK) * Long.BYTES, value);
+    }
+
+    // Helper function to map (row, col) to the site index
+    private long mapRowColToIndex(int row, int col) {
+        return (long) (row - 1) * n + col - 1;
+    }
+
+    // is (row, col) a valid input?
+    // note: row, col starts from 1!!!
+    private boolean isValid(int row, int col) {
+        return row >= 1 && row <= n && col >= 1 && col <= n;
+    }
+
+    private boolean isOpenSite(long site) {
+        return (get(bitsetStart + (site >>> 6)) & (1L << site)) != 0;
+    }
+
+    // root of the component containing site, with path halving
+    private long find(long site) {
+        long v = get(forestStart + site);
+        while (v > 0) {
+            long p = v - 1;
+            long w = get(forestStart + p);
+            if (w <= 0) return p;
+            put(forestStart + site, w); // skip one level
+            site = w - 1;
+            v = get(forestStart + site);
+        }
+        return site;
+    }
+
+    // root of the component containing site, without writing to the file
+    private long root(long site) {
+        long v = get(forestStart + site);
+        while (v > 0) {
+            site = v - 1;
+            v = get(forestStart + site);
+        }
+        return site;
+    }
+
+    // merges the components of p and q (union by size)
+    private void union(long p, long q) {
+        long rootP = find(p);
+        long rootQ = find(q);
+        if (rootP == rootQ) return;
+        long codeP = -get(forestStart + rootP);
+        long codeQ = -get(forestStart + rootQ);
+        if ((codeP >>> 2) < (codeQ >>> 2)) {
+            long temp = rootP;
+            rootP = rootQ;
+            rootQ = temp;
+            temp = codeP;
+            codeP = codeQ;
+            codeQ = temp;
+        }
+        long size = (codeP >>> 2) + (codeQ >>> 2) + 2;
+        long flags = (codeP | codeQ) & (TOP | BOTTOM);
+        put(forestStart + rootQ, rootP + 1);
+        put(forestStart + rootP, -(((size - 1) << 2) | flags));
+    }
+
+    // adds flags to the component of site, returns the root's flags afterwards
+    private long mark(long site, long flags) {
+        long root = find(site);
+        long code = -get(forestStart + root) | flags;
+        put(forestStart + root, -code);
+        return code & (TOP | BOTTOM);
+    }
+
+    // records (in the file) that it changed since the last checkpoint, before the first change
+    private void markDirty() {
+        if (dirty) return;
+        dirty = true;
+        put(3, DIRTY);
+        chunks[0].force(0, HEADER_LONGS * Long.BYTES);
+    }
+
+    // opens the site (row, col) if it is not open already
+    public void open(int row, int col) {
+        if (!isValid(row, col)) {
+            throw new IllegalArgumentException("row or col has been out of boundary");
+        }
+        long site = mapRowColToIndex(row, col);
+        if (isOpenSite(site)) return;
+        markDirty();
+        long word = bitsetStart + (site >>> 6);
+        put(word, get(word) | (1L << site));
+
+        if (row > 1 && isOpenSite(site - n)) union(site, site - n);
+        if (row < n && isOpenSite(site + n)) union(site, site + n);
+        if (col > 1 && isOpenSite(site - 1)) union(site, site - 1);
+        if (col < n && isOpenSite(site + 1)) union(site, site + 1);
+
+        long flags = 0;
+        if (row == 1) flags |= TOP;
+        if (row == n) flags |= BOTTOM;
+        if (mark(site, flags) == (TOP | BOTTOM)) percolates = true;
+        openSites++;
+    }
+
+    // is the site (row, col) open?
+    public boolean isOpen(int row, int col) {
+        if (!isValid(row, col)) {
+            throw new IllegalArgumentException("row or col has been out of boundary");
+        }
+        return isOpenSite(mapRowColToIndex(row, col));
+    }
+
+    // is the site (row, col) full?
+    // read-only: does not compress paths, so it never dirties the file
+    public boolean isFull(int row, int col) {
+        if (!isValid(row, col)) {
+            throw new IllegalArgumentException("row or col has been out of boundary");
+        }
+        long site = mapRowColToIndex(row, col);
+        if (!isOpenSite(site)) return false;
+        return (-get(forestStart + root(site)) & TOP) != 0;
+    }
+
+    // returns the number of open sites
+    public long numberOfOpenSites() {
+        return openSites;
+    }
+
+    // does the system percolate?
+    public boolean percolates() {
+        return percolates;
+    }
+
+    // flushes every mapped region to the file, then marks the header clean
+    // (the clean state word is written and forced only after the forest is on disk,
+    // so a crash in between leaves the DIRTY bit set and the next open rebuilds)
+    public void checkpoint() {
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+        put(2, openSites);
+        put(3, percolates ? PERCOLATES : 0);
+        chunks[0].force(0, HEADER_LONGS * Long.BYTES);
+        dirty = false;
+    }
+
+    // rebuilds the forest and counters from the open bitset, after an interrupted run
+    // (the bitset only ever gains bits, so any flushed subset of it is a valid grid)
+    private void rebuild() {
+        for (long i = 0; i < total; i++) {
+            put(forestStart + i, 0);
+        }
+        openSites = 0;
+        percolates = false;
+        for (int row = 1; row <= n; row++) {
+            for (int col = 1; col <= n; col++) {
+                long site = mapRowColToIndex(row, col);
+                if (!isOpenSite(site)) continue;
+                if (row > 1 && isOpenSite(site - n)) union(site, site - n);
+                if (col > 1 && isOpenSite(site - 1)) union(site, site - 1);
+                openSites++;
+            }
+        }
+        for (int col = 1; col <= n; col++) {
+            if (isOpenSite(mapRowColToIndex(1, col))) mark(mapRowColToIndex(1, col), TOP);
+        }
+        for (int col = 1; col <= n; col++) {
+            long site = mapRowColToIndex(n, col);
+            if (isOpenSite(site) && mark(site, BOTTOM) == (TOP | BOTTOM)) percolates = true;
+        }
+    }
+
+    // checkpoints and releases the file
+    public void close() throws IOException {
+        checkpoint();
+        channel.close();
+    }
+
+    // test client: n, file, optional number of random opens before stopping
+    // (run again on the same file to resume)
+    public static void main(String[] args) throws IOException {
+        int n = Integer.parseInt(args[0]);
+        Path file = Paths.get(args[1]);
+        long budget = args.length > 2 ? Long.parseLong(args[2]) : Long.MAX_VALUE;
+        try (MappedPercolation grid = new MappedPercolation(n, file)) {
+            SplittableRandom random = new SplittableRandom();
+            for (long i = 0; i < budget && !grid.percolates(); i++) {
+                grid.open(random.nextInt(1, n + 1), random.nextInt(1, n + 1));
+            }
+            System.out.printf("open sites=%d, percolates=%b%n", grid.numberOfOpenSites(),
+                              grid.percolates());
+        }
+    }
+}
@@ -1,34 +1,90 @@
 /* *****************************************************************************
  *  Name:              Mingxuan Wu
  *  Coursera User ID:  Mingxuan Wu
- *  Last modified:     7/15/2020
+ *  Last modified:     10/18/2026
  **************************************************************************** */
 
-import edu.princeton.cs.algs4.WeightedQuickUnionUF;
-
 public class Percolation {
-    private final boolean[][] sites; // record status for each grid
-    private final WeightedQuickUnionUF percolationSet; // record connect status
-    private final WeightedQuickUnionUF fullHelperSet; // UF helper for isFull
+    private static final int TOP_AND_BOTTOM = SiteUnionFind.TOP | SiteUnionFind.BOTTOM;
+    private static final int MAX_N = 46340; // largest n with n * n in int range
+    private final SiteUnionFind sites; // open status and connect status for each grid
     private final int n; // record the side length of the grid
-    private final int startPointIndex; // record the index for the "helper" starter point
-    private final int endPointIndex; // record the index for the "helper" end point
-    // left, right, down, up
-    private final int[][] directions = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
+    private final PercolationMetrics metrics;
     private int openGridSize;
+    private boolean percolates; // set once a component touches both top and bottom
 
     // creates n-by-n grid, with all sites initially blocked
     public Percolation(int n) {
+        this(n, PercolationMetrics.NONE);
+    }
+
+    // creates n-by-n grid, with all sites initially blocked, reporting to metrics
+    public Percolation(int n, PercolationMetrics metrics) {
         if (n <= 0) {
             throw new IllegalArgumentException("n should be larger than 0");
         }
+        if (n > MAX_N) {
+            throw new IllegalArgumentException("n should be at most " + MAX_N);
+        }
+        if (metrics == null) {
+            throw new IllegalArgumentException("metrics should not be null");
+        }
         this.n = n;
-        sites = new boolean[n][n];
-        percolationSet = new WeightedQuickUnionUF(n * n + 2);
-        fullHelperSet = new WeightedQuickUnionUF(n * n + 2);
-        startPointIndex = n * n;
-        endPointIndex = n * n + 1;
+        this.metrics = metrics;
+        sites = new SiteUnionFind(n * n, metrics);
+        openGridSize = 0;
+        percolates = false;
+    }
+
+    // creates n-by-n grid with the given sites open, where n = openSites.length
+    // and openSites[row - 1][col - 1] tells whether (row, col) is open
+    // Components are labelled in one raster sweep (each open site only joins its open
+    // up and left neighbors), then the first and last rows are marked
+    public Percolation(boolean[][] openSites) {
+        this(sideLength(openSites));
+        for (boolean[] line : openSites) {
+            if (line == null || line.length != n) {
+                throw new IllegalArgumentException("openSites should be an n-by-n array");
+            }
+        }
+
+        // Pass 1: open the sites and union each one with its open up / left neighbor
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (!openSites[i][j]) continue;
+                int index = i * n + j;
+                sites.open(index);
+                if (i > 0 && openSites[i - 1][j]) sites.union(index, index - n);
+                if (j > 0 && openSites[i][j - 1]) sites.union(index, index - 1);
+                openGridSize++;
+            }
+        }
+
+        // Pass 2: mark the components touching the first / last row
+        for (int j = 0; j < n; j++) {
+            if (openSites[0][j]) sites.mark(j, SiteUnionFind.TOP);
+        }
+        for (int j = 0; j < n; j++) {
+            if (openSites[n - 1][j]
+                    && sites.mark((n - 1) * n + j, SiteUnionFind.BOTTOM) == TOP_AND_BOTTOM) {
+                percolates = true;
+            }
+        }
+    }
+
+    // side length of a bitmap passed to the bulk constructor
+    private static int sideLength(boolean[][] openSites) {
+        if (openSites == null) {
+            throw new IllegalArgumentException("openSites should not be null");
+        }
+        return openSites.length;
+    }
+
+    // blocks every site again, reusing the arrays of this grid
+    public void reset() {
+        sites.reset();
         openGridSize = 0;
+        percolates = false;
     }
 
     // Helper function to map (row, col) to the index in UF
@@ -41,37 +97,52 @@ public class Percolation {
         if (!isValid(row, col)) {
             throw new IllegalArgumentException("row or col has been out of boundary");
         }
-        if (isOpen(row, col)) {
-            return;
-        }
-        // Step 1: change the grid to open in sites
-        sites[row - 1][col - 1] = true;
+        metrics.onOpen();
+        openSite(row, col);
+    }
 
-        // Step 2: connect the grid to its neighbors
-        int localUFIndex = mapRowColToUFIndex(row, col);
-        for (int[] localDirection : directions) {
-            int newRow = row + localDirection[0];
-            int newCol = col + localDirection[1];
-            int newUFIndex = mapRowColToUFIndex(newRow, newCol);
-            if (isValid(newRow, newCol) && isOpen(newRow, newCol)) {
-                percolationSet.union(localUFIndex, newUFIndex);
-                fullHelperSet.union(localUFIndex, newUFIndex);
+    // opens the sites (rows[i], cols[i]) in order, skipping those already open
+    // all the pairs are checked before any site is opened
+    public void openAll(int[] rows, int[] cols) {
+        if (rows == null || cols == null || rows.length != cols.length) {
+            throw new IllegalArgumentException("rows and cols should have the same length");
+        }
+        for (int i = 0; i < rows.length; i++) {
+            if (!isValid(rows[i], cols[i])) {
+                throw new IllegalArgumentException("row or col has been out of boundary");
             }
         }
+        for (int i = 0; i < rows.length; i++) {
+            metrics.onOpen();
+            openSite(rows[i], cols[i]);
+        }
+    }
 
-        // Step 3: if the grid is in first row, connect to startPoint
-        if (row == 1) {
-            percolationSet.union(localUFIndex, startPointIndex);
-            fullHelperSet.union(localUFIndex, startPointIndex);
+    // opens (row, col), which has already been checked to be valid
+    private void openSite(int row, int col) {
+        int localUFIndex = mapRowColToUFIndex(row, col);
+        if (sites.isOpen(localUFIndex)) {
+            return;
         }
+        // Step 1: change the grid to open
+        sites.open(localUFIndex);
+
+        // Step 2: connect the grid to its open neighbors (up, down, left, right)
+        if (row > 1 && sites.isOpen(localUFIndex - n)) sites.union(localUFIndex, localUFIndex - n);
+        if (row < n && sites.isOpen(localUFIndex + n)) sites.union(localUFIndex, localUFIndex + n);
+        if (col > 1 && sites.isOpen(localUFIndex - 1)) sites.union(localUFIndex, localUFIndex - 1);
+        if (col < n && sites.isOpen(localUFIndex + 1)) sites.union(localUFIndex, localUFIndex + 1);
 
-        // Step 4: if the grid is in last row, connect to endPoint
-        // We should not connect in fullHelperSet to avoid backwash!
-        if (row == n) {
-            percolationSet.union(localUFIndex, endPointIndex);
+        // Step 3: record whether the component now touches the first / last row
+        // Only the component carries the bits, so there is no backwash
+        int bits = 0;
+        if (row == 1) bits |= SiteUnionFind.TOP;
+        if (row == n) bits |= SiteUnionFind.BOTTOM;
+        if (sites.mark(localUFIndex, bits) == TOP_AND_BOTTOM) {
+            percolates = true;
         }
 
-        // Step 5: add one to the open grid counter
+        // Step 4: add one to the open grid counter
         openGridSize += 1;
     }
 
@@ -80,7 +151,7 @@ public class Percolation {
         if (!isValid(row, col)) {
             throw new IllegalArgumentException("row or col has been out of boundary");
         }
-        return sites[row - 1][col - 1];
+        return sites.isOpen(mapRowColToUFIndex(row, col));
     }
 
     // is the site (row, col) full?
@@ -89,9 +160,8 @@ public class Percolation {
             throw new IllegalArgumentException("row or col has been out of boundary");
         }
         int localUfIndex = mapRowColToUFIndex(row, col);
-        int localRoot = fullHelperSet.find(localUfIndex);
-        int startPointRoot = fullHelperSet.find(startPointIndex);
-        return isOpen(row, col) && (localRoot == startPointRoot);
+        return sites.isOpen(localUfIndex)
+                && (sites.componentStatus(localUfIndex) & SiteUnionFind.TOP) != 0;
     }
 
     // is (row, col) a valid input?
@@ -107,9 +177,7 @@ public class Percolation {
 
     // does the system percolate?
     public boolean percolates() {
-        int startPointRoot = percolationSet.find(startPointIndex);
-        int endPointRoot = percolationSet.find(endPointIndex);
-        return startPointRoot == endPointRoot;
+        return percolates;
     }
 
     // test client (optional)
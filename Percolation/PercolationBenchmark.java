@@ -0,0 +1,85 @@
+/* *****************************************************************************
+ *  Name:              Mingxuan Wu
+ *  Coursera User ID:  Mingxuan Wu
+ *  Last modified:     10/18/2026
+ *  Description:       Timing clients: rejection sampling vs shuffled order
+ *                     for single percolation trials, and Percolation vs the
+ *                     general LatticePercolation on the same 2D grids.
+ **************************************************************************** */
+
+import java.util.SplittableRandom;
+
+public class PercolationBenchmark {
+    private static final int WARMUP_TRIALS = 20;
+
+    // average milliseconds per trial for the given mode
+    private static double timeTrials(int n, int trials, long seed, boolean withoutReplacement) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double sink = 0.0; // keep the JIT from dropping the trials
+        long start = System.nanoTime();
+        for (int t = 0; t < trials; t++) {
+            sink += withoutReplacement ? PercolationStats.permutationTrial(n, random)
+                                       : PercolationStats.rejectionTrial(n, random);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink < 0) System.out.println(sink);
+        return elapsed / 1e6 / trials;
+    }
+
+    // average milliseconds per trial opening random sites of an n-by-n grid until it
+    // percolates, with Percolation (lattice false) or a 2D LatticePercolation (lattice true)
+    private static double timeGrids(int n, int trials, long seed, boolean lattice) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] dims = { n, n };
+        long opened = 0; // keep the JIT from dropping the trials
+        long start = System.nanoTime();
+        for (int t = 0; t < trials; t++) {
+            if (lattice) {
+                LatticePercolation grid = new LatticePercolation(dims, false);
+                while (!grid.percolates()) grid.open(random.nextInt(n * n));
+                opened += grid.numberOfOpenSites();
+            }
+            else {
+                Percolation grid = new Percolation(n);
+                while (!grid.percolates()) grid.open(random.nextInt(1, n + 1),
+                                                     random.nextInt(1, n + 1));
+                opened += grid.numberOfOpenSites();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (opened < 0) System.out.println(opened);
+        return elapsed / 1e6 / trials;
+    }
+
+    // usage: PercolationBenchmark [trials] [n1 n2 ...]
+    public static void main(String[] args) {
+        int trials = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int[] sizes = { 64, 128, 256, 512, 1024 };
+        if (args.length > 1) {
+            sizes = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) sizes[i - 1] = Integer.parseInt(args[i]);
+        }
+
+        timeTrials(64, WARMUP_TRIALS, 1, false);
+        timeTrials(64, WARMUP_TRIALS, 1, true);
+        timeGrids(64, WARMUP_TRIALS, 1, false);
+        timeGrids(64, WARMUP_TRIALS, 1, true);
+
+        System.out.printf("%8s %16s %16s %10s%n", "n", "rejection(ms)", "shuffled(ms)", "speed-up");
+        for (int n : sizes) {
+            double rejection = timeTrials(n, trials, n, false);
+            double shuffled = timeTrials(n, trials, n, true);
+            System.out.printf("%8d %16.3f %16.3f %9.2fx%n", n, rejection, shuffled,
+                              rejection / shuffled);
+        }
+
+        System.out.println();
+        System.out.printf("%8s %16s %16s %10s%n", "n", "Percolation(ms)", "Lattice(ms)", "ratio");
+        for (int n : sizes) {
+            double square = timeGrids(n, trials, n, false);
+            double lattice = timeGrids(n, trials, n, true);
+            System.out.printf("%8d %16.3f %16.3f %9.2fx%n", n, square, lattice,
+                              square / lattice);
+        }
+    }
+}
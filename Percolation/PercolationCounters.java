@@ -0,0 +1,132 @@
+/* *****************************************************************************
+ *  Name:              Mingxuan Wu
+ *  Coursera User ID:  Mingxuan Wu
+ *  Last modified:     10/18/2026
+ *  Description:       Thread-safe PercolationMetrics: call counters, a
+ *                     power-of-two histogram of find path lengths, wasted
+ *                     draw ratio and trial timings.
+ **************************************************************************** */
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PercolationCounters implements PercolationMetrics {
+    private static final int BUCKETS = 32; // bucket b counts paths of length in [2^(b-1), 2^b)
+    private final LongAdder opens = new LongAdder();
+    private final LongAdder unions = new LongAdder();
+    private final LongAdder finds = new LongAdder();
+    private final LongAdder findSteps = new LongAdder();
+    private final LongAdder[] pathLengths = new LongAdder[BUCKETS];
+    private final LongAdder draws = new LongAdder();
+    private final LongAdder wastedDraws = new LongAdder();
+    private final LongAdder trials = new LongAdder();
+    private final LongAdder trialNanos = new LongAdder();
+    private final LongAccumulator maxTrialNanos = new LongAccumulator(Math::max, 0);
+    private final long startNanos = System.nanoTime();
+
+    public PercolationCounters() {
+        for (int b = 0; b < BUCKETS; b++) {
+            pathLengths[b] = new LongAdder();
+        }
+    }
+
+    public void onOpen() {
+        opens.increment();
+    }
+
+    public void onUnion() {
+        unions.increment();
+    }
+
+    public void onFind(int pathLength) {
+        finds.increment();
+        findSteps.add(pathLength);
+        pathLengths[32 - Integer.numberOfLeadingZeros(pathLength)].increment();
+    }
+
+    public void onDraw(boolean wasted) {
+        draws.increment();
+        if (wasted) wastedDraws.increment();
+    }
+
+    public void onTrial(long nanos) {
+        trials.increment();
+        trialNanos.add(nanos);
+        maxTrialNanos.accumulate(nanos);
+    }
+
+    public long opens() {
+        return opens.sum();
+    }
+
+    public long unions() {
+        return unions.sum();
+    }
+
+    public long finds() {
+        return finds.sum();
+    }
+
+    // average number of parent links followed per find
+    public double meanPathLength() {
+        return (double) findSteps.sum() / finds.sum();
+    }
+
+    // number of finds with path length in [2^(bucket-1), 2^bucket) (bucket 0: length 0)
+    public long pathLengthCount(int bucket) {
+        return pathLengths[bucket].sum();
+    }
+
+    // fraction of random draws that hit an already open site
+    public double wastedDrawRatio() {
+        return (double) wastedDraws.sum() / draws.sum();
+    }
+
+    public long trials() {
+        return trials.sum();
+    }
+
+    // trials finished per second of wall time since these counters were created
+    public double trialsPerSecond() {
+        return trials.sum() / ((System.nanoTime() - startNanos) / 1e9);
+    }
+
+    // mean wall time of one trial, in milliseconds
+    public double meanTrialMillis() {
+        return trialNanos.sum() / 1e6 / trials.sum();
+    }
+
+    // longest wall time of one trial, in milliseconds
+    public double maxTrialMillis() {
+        return maxTrialNanos.get() / 1e6;
+    }
+
+    // string representation of the counters
+    public String toString() {
+        StringBuilder s = new StringBuilder();
+        s.append(String.format("open=%d union=%d find=%d%n", opens(), unions(), finds()));
+        s.append(String.format("mean find path length=%.3f%n", meanPathLength()));
+        for (int b = 0; b < BUCKETS; b++) {
+            long count = pathLengthCount(b);
+            if (count == 0) continue;
+            long lo = b == 0 ? 0 : 1L << (b - 1);
+            long hi = b == 0 ? 0 : (1L << b) - 1;
+            s.append(String.format("  path length %d-%d: %d%n", lo, hi, count));
+        }
+        s.append(String.format("wasted draw ratio=%.4f%n", wastedDrawRatio()));
+        s.append(String.format("trials=%d (%.2f per second), trial time mean=%.3f ms max=%.3f ms%n",
+                               trials(), trialsPerSecond(), meanTrialMillis(),
+                               maxTrialMillis()));
+        return s.toString();
+    }
+
+    // test client: n, trials; runs PercolationStats with counters on
+    public static void main(String[] args) {
+        int n = Integer.parseInt(args[0]);
+        int trials = Integer.parseInt(args[1]);
+        PercolationCounters counters = new PercolationCounters();
+        PercolationStats stats = new PercolationStats(n, trials, 1, false, counters);
+        System.out.printf("mean=%f%n", stats.mean());
+        System.out.print(counters);
+    }
+}
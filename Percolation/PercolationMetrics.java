@@ -0,0 +1,39 @@
+/* *****************************************************************************
+ *  Name:              Mingxuan Wu
+ *  Coursera User ID:  Mingxuan Wu
+ *  Last modified:     10/18/2026
+ *  Description:       Hooks called from the Percolation / PercolationStats
+ *                     hot paths. NONE does nothing, so with metrics off the
+ *                     JIT inlines the calls away; PercolationCounters is the
+ *                     counting implementation.
+ **************************************************************************** */
+
+public interface PercolationMetrics {
+    // metrics turned off
+    PercolationMetrics NONE = new PercolationMetrics() {
+        public void onOpen() { }
+
+        public void onUnion() { }
+
+        public void onFind(int pathLength) { }
+
+        public void onDraw(boolean wasted) { }
+
+        public void onTrial(long nanos) { }
+    };
+
+    // open() was called (whether or not the site was already open)
+    void onOpen();
+
+    // two components were asked to merge
+    void onUnion();
+
+    // find() walked pathLength parent links to reach the root
+    void onFind(int pathLength);
+
+    // a trial drew a random site; wasted if the site was already open
+    void onDraw(boolean wasted);
+
+    // a trial finished after the given wall time
+    void onTrial(long nanos);
+}
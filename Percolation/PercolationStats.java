@@ -1,38 +1,166 @@
 /* *****************************************************************************
  *  Name:              Mingxuan Wu
  *  Coursera User ID:  Mingxuan Wu
- *  Last modified:     07/18/2020
+ *  Last modified:     10/18/2026
  **************************************************************************** */
 
 import edu.princeton.cs.algs4.StdRandom;
-import edu.princeton.cs.algs4.StdStats;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveTask;
 
 public class PercolationStats {
     private static final double NORMALSTD = 1.96;
-    private final double[] x; // xt is the fraction of open sitesin computational experiment t
+    // open fraction at which the shuffled mode stops drawing (row, col) pairs
+    private static final double SWITCH_FRACTION = 0.5;
     private final double mean; // record mean after trials
     private final double stddev; // record standrad deviation after trials
     private final int trials;
 
     // perform independent trials on an n-by-n grid
     public PercolationStats(int n, int trials) {
+        this(n, trials, StdRandom.uniform(Integer.MAX_VALUE));
+    }
+
+    // perform independent trials on an n-by-n grid, reproducible for a given seed
+    public PercolationStats(int n, int trials, long seed) {
+        this(n, trials, seed, false);
+    }
+
+    // perform independent trials on an n-by-n grid, reproducible for a given seed
+    // trials are spread over the common fork-join pool, each leaf with its own random stream
+    // withoutReplacement: once the grid is half open, draw from the pool of blocked sites
+    // so every draw opens a new site, instead of drawing (row, col) pairs until one is
+    // blocked; in both modes each opened site is uniform over the blocked ones
+    public PercolationStats(int n, int trials, long seed, boolean withoutReplacement) {
+        this(n, trials, seed, withoutReplacement, PercolationMetrics.NONE);
+    }
+
+    // same as above, reporting every trial (and its Percolation) to metrics
+    public PercolationStats(int n, int trials, long seed, boolean withoutReplacement,
+                            PercolationMetrics metrics) {
         if (n <= 0 || trials <= 0) {
             throw new IllegalArgumentException("n and trials should be positive!");
         }
+        if (metrics == null) {
+            throw new IllegalArgumentException("metrics should not be null");
+        }
 
-        x = new double[trials];
         this.trials = trials;
-        for (int i = 0; i < trials; i++) {
-            Percolation localPercolation = new Percolation(n);
-            while (!localPercolation.percolates()) {
-                int randomRow = StdRandom.uniform(1, n + 1);
-                int randomCol = StdRandom.uniform(1, n + 1);
-                localPercolation.open(randomRow, randomCol);
+        RunningStats stats = new TrialTask(n, 0, trials, new SplittableRandom(seed),
+                                           withoutReplacement, metrics).invoke();
+        mean = stats.mean();
+        stddev = stats.stddev();
+    }
+
+    // Fork-join task running trials [lo, hi). The split of the random stream only depends
+    // on the range, so the result does not depend on how the pool schedules the work.
+    private static class TrialTask extends RecursiveTask<RunningStats> {
+        private static final long serialVersionUID = 1L;
+        private final int n;
+        private final int lo;
+        private final int hi;
+        private final SplittableRandom random;
+        private final boolean withoutReplacement;
+        private final PercolationMetrics metrics;
+
+        TrialTask(int n, int lo, int hi, SplittableRandom random, boolean withoutReplacement,
+                  PercolationMetrics metrics) {
+            this.n = n;
+            this.lo = lo;
+            this.hi = hi;
+            this.random = random;
+            this.withoutReplacement = withoutReplacement;
+            this.metrics = metrics;
+        }
+
+        protected RunningStats compute() {
+            if (hi - lo == 1) {
+                RunningStats stats = new RunningStats();
+                long start = System.nanoTime();
+                stats.add(withoutReplacement ? permutationTrial(n, random, metrics)
+                                             : rejectionTrial(n, random, metrics));
+                metrics.onTrial(System.nanoTime() - start);
+                return stats;
+            }
+            int mid = lo + (hi - lo) / 2;
+            TrialTask left = new TrialTask(n, lo, mid, random.split(), withoutReplacement,
+                                           metrics);
+            TrialTask right = new TrialTask(n, mid, hi, random, withoutReplacement, metrics);
+            left.fork();
+            RunningStats stats = right.compute();
+            stats.merge(left.join());
+            return stats;
+        }
+    }
+
+    // open random sites until the grid percolates, return the fraction of open sites
+    // draws that hit an already open site are wasted
+    static double rejectionTrial(int n, SplittableRandom random) {
+        return rejectionTrial(n, random, PercolationMetrics.NONE);
+    }
+
+    static double rejectionTrial(int n, SplittableRandom random, PercolationMetrics metrics) {
+        return rejectionTrial(new Percolation(n, metrics), n, random, metrics);
+    }
+
+    // same, on a fresh (or freshly reset) n-by-n grid built with the same metrics
+    static double rejectionTrial(Percolation localPercolation, int n, SplittableRandom random,
+                                 PercolationMetrics metrics) {
+        while (!localPercolation.percolates()) {
+            int randomRow = random.nextInt(1, n + 1);
+            int randomCol = random.nextInt(1, n + 1);
+            int before = localPercolation.numberOfOpenSites();
+            localPercolation.open(randomRow, randomCol);
+            metrics.onDraw(localPercolation.numberOfOpenSites() == before);
+        }
+        return (double) localPercolation.numberOfOpenSites() / ((double) n * n);
+    }
+
+    // open sites in a uniformly random order until the grid percolates,
+    // return the fraction of open sites
+    // while the grid is sparse almost every random draw hits a blocked site, so plain
+    // draws are used up to SWITCH_FRACTION; then the blocked sites are gathered into a
+    // pool (one sequential scan) and drawn without replacement, so no draw is wasted
+    static double permutationTrial(int n, SplittableRandom random) {
+        return permutationTrial(n, random, PercolationMetrics.NONE);
+    }
+
+    static double permutationTrial(int n, SplittableRandom random, PercolationMetrics metrics) {
+        return permutationTrial(new Percolation(n, metrics), n, random, metrics);
+    }
+
+    // same, on a fresh (or freshly reset) n-by-n grid built with the same metrics
+    static double permutationTrial(Percolation localPercolation, int n, SplittableRandom random,
+                                   PercolationMetrics metrics) {
+        int total = n * n;
+        int switchAt = (int) (SWITCH_FRACTION * total);
+        while (localPercolation.numberOfOpenSites() < switchAt
+                && !localPercolation.percolates()) {
+            int before = localPercolation.numberOfOpenSites();
+            localPercolation.open(random.nextInt(1, n + 1), random.nextInt(1, n + 1));
+            metrics.onDraw(localPercolation.numberOfOpenSites() == before);
+        }
+        if (localPercolation.percolates()) {
+            return (double) localPercolation.numberOfOpenSites() / total;
+        }
+
+        int[] pool = new int[total - localPercolation.numberOfOpenSites()];
+        int poolSize = 0;
+        for (int row = 1; row <= n; row++) {
+            for (int col = 1; col <= n; col++) {
+                if (!localPercolation.isOpen(row, col)) pool[poolSize++] = (row - 1) * n + col - 1;
             }
-            x[i] = (double) localPercolation.numberOfOpenSites() / (double) (n * n);
         }
-        mean = StdStats.mean(x);
-        stddev = StdStats.stddev(x);
+        while (!localPercolation.percolates()) {
+            // swap-remove a random entry of the shrinking pool
+            int j = random.nextInt(poolSize);
+            int site = pool[j];
+            pool[j] = pool[--poolSize];
+            localPercolation.open(site / n + 1, site % n + 1);
+            metrics.onDraw(false);
+        }
+        return (double) localPercolation.numberOfOpenSites() / total;
     }
 
     // sample mean of percolation threshold
@@ -58,10 +186,14 @@ public class PercolationStats {
     }
 
     // test client (see below)
+    // optional third argument: seed, for reproducible runs
     public static void main(String[] args) {
         int n = Integer.parseInt(args[0]);
         int trials = Integer.parseInt(args[1]);
-        PercolationStats localPercolationStats = new PercolationStats(n, trials);
+        PercolationStats localPercolationStats = args.length > 2
+                                                 ? new PercolationStats(n, trials,
+                                                                        Long.parseLong(args[2]))
+                                                 : new PercolationStats(n, trials);
         System.out.printf("mean=%f\n", localPercolationStats.mean);
         System.out.printf("stddev=%f\n", localPercolationStats.stddev);
         System.out.printf("95%% confidence interval = [%f,%f]\n",
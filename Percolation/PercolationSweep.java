@@ -0,0 +1,157 @@
+/* *****************************************************************************
+ *  Name:              Mingxuan Wu
+ *  Coursera User ID:  Mingxuan Wu
+ *  Last modified:     10/18/2026
+ *  Description:       Threshold sweep over several grid sizes as a single
+ *                     fork-join job. Every (n, trial) pair is one leaf, and
+ *                     leaves are ordered by size; each worker thread keeps
+ *                     the Percolation of the size it last ran and reset()s
+ *                     it between trials, dropping it when the size changes.
+ *                     Results are written as CSV rows (n,trial,threshold,
+ *                     millis) as trials finish.
+ **************************************************************************** */
+
+import java.io.PrintStream;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RecursiveAction;
+
+public class PercolationSweep {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private final int[] sizes;
+    private final int trials;
+    private final long seed;
+    private final PrintStream out;
+    private final RunningStats[] stats; // per size, guarded by out
+    // every worker's slot, so the grids can be released once the sweep is done
+    private final ConcurrentLinkedQueue<GridSlot> slots = new ConcurrentLinkedQueue<>();
+    // grid owned by the current worker thread, for the size it last ran
+    private final ThreadLocal<GridSlot> grids = ThreadLocal.withInitial(() -> {
+        GridSlot slot = new GridSlot();
+        slots.add(slot);
+        return slot;
+    });
+
+    private static class GridSlot {
+        private int n;
+        private Percolation grid;
+    }
+
+    // runs trials trials for every n in sizes, writing one CSV row per trial to out
+    // each (n, trial) pair has its own random stream derived from seed, so the rows
+    // (though not their order) are reproducible
+    public PercolationSweep(int[] sizes, int trials, long seed, PrintStream out) {
+        if (sizes == null || sizes.length == 0 || trials <= 0 || out == null) {
+            throw new IllegalArgumentException("sizes, trials and out should not be empty");
+        }
+        for (int n : sizes) {
+            if (n <= 0) throw new IllegalArgumentException("n should be positive!");
+        }
+        this.sizes = sizes.clone();
+        this.trials = trials;
+        this.seed = seed;
+        this.out = out;
+        stats = new RunningStats[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            stats[i] = new RunningStats();
+        }
+
+        out.println("n,trial,threshold,millis");
+        out.flush();
+        try {
+            new SweepTask(0, sizes.length * trials).invoke();
+        }
+        finally {
+            // pool threads outlive the sweep; don't let them keep the grids reachable
+            for (GridSlot slot : slots) {
+                slot.grid = null;
+            }
+            slots.clear();
+            grids.remove();
+        }
+    }
+
+    // Fork-join task over the flattened (size, trial) pairs [lo, hi)
+    private class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int lo;
+        private final int hi;
+
+        SweepTask(int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        protected void compute() {
+            if (hi - lo == 1) {
+                runPair(lo);
+                return;
+            }
+            int mid = lo + (hi - lo) / 2;
+            invokeAll(new SweepTask(lo, mid), new SweepTask(mid, hi));
+        }
+    }
+
+    // Stafford's mix13 finalizer: seeds a fixed gamma apart would otherwise give
+    // SplittableRandom streams that are shifts of one another
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private void runPair(int pair) {
+        int sizeIndex = pair / trials;
+        int trial = pair % trials;
+        int n = sizes[sizeIndex];
+        GridSlot slot = grids.get();
+        Percolation grid = slot.grid;
+        if (grid == null || slot.n != n) {
+            slot.grid = null; // let the old size go before allocating the new one
+            grid = new Percolation(n);
+            slot.n = n;
+            slot.grid = grid;
+        }
+        else {
+            grid.reset();
+        }
+
+        SplittableRandom random = new SplittableRandom(mix64(seed + GOLDEN_GAMMA * (pair + 1)));
+        long start = System.nanoTime();
+        double threshold = PercolationStats.rejectionTrial(grid, n, random,
+                                                           PercolationMetrics.NONE);
+        double millis = (System.nanoTime() - start) / 1e6;
+        synchronized (out) {
+            stats[sizeIndex].add(threshold);
+            out.printf("%d,%d,%.6f,%.3f%n", n, trial, threshold, millis);
+            out.flush();
+        }
+    }
+
+    // sample mean of the percolation threshold for the i-th size
+    public double mean(int i) {
+        return stats[i].mean();
+    }
+
+    // sample standard deviation of the percolation threshold for the i-th size
+    public double stddev(int i) {
+        return stats[i].stddev();
+    }
+
+    // usage: PercolationSweep trials seed [n1 n2 ...]
+    // CSV rows go to standard output, a per-size summary to standard error
+    public static void main(String[] args) {
+        int trials = Integer.parseInt(args[0]);
+        long seed = Long.parseLong(args[1]);
+        int[] sizes = { 64, 128, 256, 512, 1024, 2048, 4096 };
+        if (args.length > 2) {
+            sizes = new int[args.length - 2];
+            for (int i = 2; i < args.length; i++) sizes[i - 2] = Integer.parseInt(args[i]);
+        }
+        PercolationSweep sweep = new PercolationSweep(sizes, trials, seed, System.out);
+        for (int i = 0; i < sizes.length; i++) {
+            System.err.printf("n=%d mean=%f stddev=%f%n", sizes[i], sweep.mean(i),
+                              sweep.stddev(i));
+        }
+    }
+}
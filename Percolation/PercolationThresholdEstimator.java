@@ -0,0 +1,102 @@
+/* *****************************************************************************
+ *  Name:              Mingxuan Wu
+ *  Coursera User ID:  Mingxuan Wu
+ *  Last modified:     10/18/2026
+ *  Description:       Streaming estimate of the percolation threshold.
+ *                     Trials are run one at a time and folded into a running
+ *                     mean / variance (O(1) memory); the run stops once the
+ *                     95% confidence half-width drops to epsilon.
+ **************************************************************************** */
+
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.util.SplittableRandom;
+
+public class PercolationThresholdEstimator {
+    private static final double NORMALSTD = 1.96;
+    // the normal approximation behind the interval is poor below this many trials
+    private static final int MIN_TRIALS = 30;
+    private final RunningStats stats = new RunningStats();
+    private final boolean converged; // did the half-width reach epsilon before maxTrials?
+
+    // run trials on an n-by-n grid until the half-width is at most epsilon
+    public PercolationThresholdEstimator(int n, double epsilon) {
+        this(n, epsilon, Integer.MAX_VALUE, StdRandom.uniform(Integer.MAX_VALUE));
+    }
+
+    // run trials on an n-by-n grid until the half-width is at most epsilon,
+    // or maxTrials trials have been run, reproducible for a given seed
+    public PercolationThresholdEstimator(int n, double epsilon, int maxTrials, long seed) {
+        if (n <= 0 || maxTrials <= 0) {
+            throw new IllegalArgumentException("n and maxTrials should be positive!");
+        }
+        if (!(epsilon > 0)) {
+            throw new IllegalArgumentException("epsilon should be positive!");
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        boolean done = false;
+        while (!done && stats.count() < maxTrials) {
+            stats.add(PercolationStats.rejectionTrial(n, random));
+            done = stats.count() >= MIN_TRIALS && halfWidth() <= epsilon;
+        }
+        converged = done;
+    }
+
+    // half-width of the 95% confidence interval
+    private double halfWidth() {
+        return NORMALSTD * stats.stddev() / Math.sqrt(stats.count());
+    }
+
+    // number of trials actually run
+    public int trials() {
+        return (int) stats.count();
+    }
+
+    // did the run stop because the interval was narrow enough?
+    public boolean converged() {
+        return converged;
+    }
+
+    // sample mean of percolation threshold
+    public double mean() {
+        return stats.mean();
+    }
+
+    // sample standard deviation of percolation threshold
+    public double stddev() {
+        return stats.stddev();
+    }
+
+    // low endpoint of 95% confidence interval
+    public double confidenceLo() {
+        return stats.mean() - halfWidth();
+    }
+
+    // high endpoint of 95% confidence interval
+    public double confidenceHi() {
+        return stats.mean() + halfWidth();
+    }
+
+    // test client: n, epsilon, optional maxTrials and seed
+    public static void main(String[] args) {
+        int n = Integer.parseInt(args[0]);
+        double epsilon = Double.parseDouble(args[1]);
+        PercolationThresholdEstimator estimator;
+        if (args.length > 3) {
+            int maxTrials = Integer.parseInt(args[2]);
+            long seed = Long.parseLong(args[3]);
+            estimator = new PercolationThresholdEstimator(n, epsilon, maxTrials, seed);
+        }
+        else {
+            estimator = new PercolationThresholdEstimator(n, epsilon);
+        }
+        System.out.printf("trials=%d (converged: %b)\n", estimator.trials(),
+                          estimator.converged());
+        System.out.printf("mean=%f\n", estimator.mean());
+        System.out.printf("stddev=%f\n", estimator.stddev());
+        System.out.printf("95%% confidence interval = [%f,%f]\n",
+                          estimator.confidenceLo(),
+                          estimator.confidenceHi());
+    }
+}
@@ -0,0 +1,67 @@
+/* *****************************************************************************
+ *  Name:              Mingxuan Wu
+ *  Coursera User ID:  Mingxuan Wu
+ *  Last modified:     10/18/2026
+ *  Description:       Online mean / variance accumulator (Welford), with a
+ *                     merge step (Chan et al.) so partial results computed on
+ *                     different threads can be combined.
+ **************************************************************************** */
+
+public class RunningStats {
+    private long count; // number of samples seen so far
+    private double mean; // running mean
+    private double m2; // running sum of squared differences from the mean
+
+    // empty accumulator
+    public RunningStats() {
+        count = 0;
+        mean = 0.0;
+        m2 = 0.0;
+    }
+
+    // add one sample
+    public void add(double x) {
+        count++;
+        double delta = x - mean;
+        mean += delta / count;
+        m2 += delta * (x - mean);
+    }
+
+    // fold the samples of that accumulator into this one
+    public void merge(RunningStats that) {
+        if (that.count == 0) return;
+        if (count == 0) {
+            count = that.count;
+            mean = that.mean;
+            m2 = that.m2;
+            return;
+        }
+        long total = count + that.count;
+        double delta = that.mean - mean;
+        mean += delta * that.count / total;
+        m2 += that.m2 + delta * delta * ((double) count * that.count / total);
+        count = total;
+    }
+
+    // number of samples
+    public long count() {
+        return count;
+    }
+
+    // sample mean; NaN if no samples
+    public double mean() {
+        if (count == 0) return Double.NaN;
+        return mean;
+    }
+
+    // sample variance (n - 1 in the denominator); NaN if fewer than 2 samples
+    public double variance() {
+        if (count < 2) return Double.NaN;
+        return m2 / (count - 1);
+    }
+
+    // sample standard deviation; NaN if fewer than 2 samples
+    public double stddev() {
+        return Math.sqrt(variance());
+    }
+}
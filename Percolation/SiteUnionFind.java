@@ -0,0 +1,111 @@
+/* *****************************************************************************
+ *  Name:              Mingxuan Wu
+ *  Coursera User ID:  Mingxuan Wu
+ *  Last modified:     10/18/2026
+ *  Description:       Union-find over grid sites kept in one flat int[].
+ *                     A root stores -(component size), any other site stores
+ *                     its parent. Each site also has a status byte: the OPEN
+ *                     bit belongs to the site, TOP / BOTTOM are only kept up
+ *                     to date on roots and tell whether the component touches
+ *                     the top / bottom row. This replaces the virtual top and
+ *                     bottom sites and the second UF used to avoid backwash.
+ **************************************************************************** */
+
+import java.util.Arrays;
+
+public class SiteUnionFind {
+    public static final int OPEN = 1; // the site itself is open
+    public static final int TOP = 2; // (root only) the component touches the top row
+    public static final int BOTTOM = 4; // (root only) the component touches the bottom row
+
+    private final int[] parent; // parent link, or -(component size) for a root
+    private final byte[] status; // OPEN / TOP / BOTTOM bits
+    private final PercolationMetrics metrics;
+
+    // creates n singleton sites, all blocked
+    public SiteUnionFind(int n) {
+        this(n, PercolationMetrics.NONE);
+    }
+
+    // creates n singleton sites, all blocked, reporting unions and finds to metrics
+    public SiteUnionFind(int n, PercolationMetrics metrics) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n should not be negative");
+        }
+        parent = new int[n];
+        status = new byte[n];
+        this.metrics = metrics;
+        Arrays.fill(parent, -1);
+    }
+
+    // makes every site a blocked singleton again, keeping the arrays
+    public void reset() {
+        Arrays.fill(parent, -1);
+        Arrays.fill(status, (byte) 0);
+    }
+
+    // root of the component containing p, with path halving
+    public int find(int p) {
+        int steps = 0;
+        int q = parent[p];
+        while (q >= 0) {
+            int r = parent[q];
+            if (r < 0) {
+                p = q;
+                steps++;
+                break;
+            }
+            parent[p] = r; // skip one level
+            p = r;
+            q = parent[p];
+            steps += 2;
+        }
+        metrics.onFind(steps);
+        return p;
+    }
+
+    // merges the components of p and q (union by size), returns the new root
+    public int union(int p, int q) {
+        metrics.onUnion();
+        int rootP = find(p);
+        int rootQ = find(q);
+        if (rootP == rootQ) return rootP;
+        // parent[root] is -size, so the larger component has the smaller value
+        if (parent[rootP] > parent[rootQ]) {
+            int temp = rootP;
+            rootP = rootQ;
+            rootQ = temp;
+        }
+        parent[rootP] += parent[rootQ];
+        parent[rootQ] = rootP;
+        status[rootP] |= status[rootQ] & (TOP | BOTTOM);
+        return rootP;
+    }
+
+    // is site p open?
+    public boolean isOpen(int p) {
+        return (status[p] & OPEN) != 0;
+    }
+
+    // marks site p as open
+    public void open(int p) {
+        status[p] |= OPEN;
+    }
+
+    // adds TOP / BOTTOM bits to the component of p, returns the root's bits afterwards
+    public int mark(int p, int bits) {
+        int root = find(p);
+        status[root] |= bits & (TOP | BOTTOM);
+        return status[root] & (TOP | BOTTOM);
+    }
+
+    // TOP / BOTTOM bits of the component containing p
+    public int componentStatus(int p) {
+        return status[find(p)] & (TOP | BOTTOM);
+    }
+
+    // number of sites
+    public int size() {
+        return parent.length;
+    }
+}